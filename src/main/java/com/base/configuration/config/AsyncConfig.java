@@ -1,9 +1,14 @@
 package com.base.configuration.config;
 
 import com.base.configuration.MdcTaskDecorator;
+import com.base.configuration.property.ImportProperties;
+import com.base.configuration.property.PagingProperties;
 import com.base.exception.ExceptionHandlingAsyncTaskExecutor;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,8 +17,13 @@ import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 
+import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 
 @Slf4j
@@ -34,6 +44,12 @@ public class AsyncConfig implements AsyncConfigurer {
      * Tạo ThreadPoolTaskExecutor với cấu hình tối ưu
      */
     private ThreadPoolTaskExecutor buildThreadPool(String prefix, int core, int max, int queue) {
+        return buildThreadPool(prefix, core, max, queue, new ThreadPoolExecutor.CallerRunsPolicy(), mdcTaskDecorator);
+    }
+
+    private ThreadPoolTaskExecutor buildThreadPool(String prefix, int core, int max, int queue,
+                                                   RejectedExecutionHandler rejectionPolicy,
+                                                   TaskDecorator taskDecorator) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
         // Core pool configuration
@@ -43,14 +59,14 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.setThreadNamePrefix(prefix);
 
         // Task decorator (reuse instance)
-        executor.setTaskDecorator(mdcTaskDecorator);
+        executor.setTaskDecorator(taskDecorator);
 
         // Graceful shutdown
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(30);
 
         // Rejection policy
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setRejectedExecutionHandler(rejectionPolicy);
 
         // Thread lifecycle optimization
         executor.setAllowCoreThreadTimeOut(true);
@@ -87,6 +103,48 @@ public class AsyncConfig implements AsyncConfigurer {
         return buildThreadPool("mdc-raw-", 4, 8, 200);
     }
 
+    /**
+     * Pool chạy COUNT song song với truy vấn trang (app.paging.count-execution=concurrent)
+     * Khi đầy thì từ chối (AbortPolicy): COUNT không được chạy trên luồng request, tổng số trả về là unknown
+     * Mang theo SecurityContext của request, để COUNT được định tuyến (replica / primary read-your-writes)
+     * giống truy vấn trang
+     */
+    @Bean(name = "countExecutor")
+    public ThreadPoolTaskExecutor countExecutor(PagingProperties paging) {
+        return buildThreadPool("count-",
+                paging.getCountPoolSize(), paging.getCountPoolSize(), paging.getCountQueueCapacity(),
+                new ThreadPoolExecutor.AbortPolicy(),
+                new CompositeTaskDecorator(List.<TaskDecorator>of(mdcTaskDecorator, DelegatingSecurityContextRunnable::new)));
+    }
+
+    /**
+     * Pool băm mật khẩu khi import người dùng (BCrypt tốn CPU, giới hạn theo số core)
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(ImportProperties imports) {
+        int threads = imports.getHashThreads() > 0
+                ? imports.getHashThreads()
+                : Runtime.getRuntime().availableProcessors();
+        return buildThreadPool("pwd-hash-", threads, threads, imports.getChunkSize());
+    }
+
+    /**
+     * Chạy các job import người dùng, mỗi job một luồng
+     */
+    @Bean(name = "importExecutor")
+    public ThreadPoolTaskExecutor importExecutor() {
+        return buildThreadPool("user-import-", 2, 2, 100);
+    }
+
+    /**
+     * Metrics executor.* (name=count), bound once the pool is initialized
+     */
+    @Bean
+    public MeterBinder countExecutorMetrics(@Qualifier("countExecutor") ThreadPoolTaskExecutor countExecutor) {
+        return registry -> new ExecutorServiceMetrics(countExecutor.getThreadPoolExecutor(), "count", List.of())
+                .bindTo(registry);
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return (ex, method, params) ->
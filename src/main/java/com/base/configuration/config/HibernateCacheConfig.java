@@ -0,0 +1,43 @@
+package com.base.configuration.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+/**
+ * Hibernate second-level cache: the JCache manager behind its regions, and their metrics
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * The cache manager Hibernate built from ehcache.xml, also used for the email -> id lookups
+     */
+    @Bean(name = "hibernateCacheManager", destroyMethod = "")
+    public CacheManager hibernateCacheManager(EntityManagerFactory entityManagerFactory) {
+        JCacheRegionFactory regionFactory = (JCacheRegionFactory) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getCache()
+                .getRegionFactory();
+        return regionFactory.getCacheManager();
+    }
+
+    /**
+     * cache.gets{result=hit|miss}, cache.puts, cache.removals per region
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name), Tags.of("cacheManager", "hibernate"));
+            }
+        };
+    }
+}
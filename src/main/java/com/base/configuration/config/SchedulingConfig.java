@@ -0,0 +1,12 @@
+package com.base.configuration.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (counter reconciliation, ...)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,63 @@
+package com.base.configuration.datasource;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers who committed a write recently, so their reads are not served by a replica that may lag behind
+ * Keyed by the authenticated user; anonymous writes are not tracked
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final long windowNanos;
+    // user -> System.nanoTime() until which reads go to the primary
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly() && windowNanos > 0) {
+            String user = currentUser();
+            if (user != null) {
+                primaryUntil.put(user, System.nanoTime() + windowNanos);
+            }
+        }
+    }
+
+    /**
+     * Whether the current user wrote within the window
+     */
+    public boolean isWithinWindow() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = primaryUntil.get(user);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        primaryUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
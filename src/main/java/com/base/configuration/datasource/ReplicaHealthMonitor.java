@@ -0,0 +1,69 @@
+package com.base.configuration.datasource;
+
+import com.base.configuration.property.ReplicaRoutingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Periodically checks that every replica answers and is within the allowed replication lag
+ */
+@RequiredArgsConstructor
+public class ReplicaHealthMonitor {
+
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"};
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReadYourWritesTracker readYourWrites;
+    private final ReplicaRoutingProperties properties;
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval:PT5S}")
+    public void check() {
+        double maxLag = properties.getMaxLag().toMillis() / 1000.0;
+        for (ReplicaRoutingDataSource.Replica replica : routingDataSource.getReplicas()) {
+            try {
+                Double lag = lagSeconds(replica);
+                if (lag == null) {
+                    // Not replicating (stopped, or no replica status at all)
+                    replica.checked(-1, false);
+                } else {
+                    replica.checked(lag, lag <= maxLag);
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+        readYourWrites.purgeExpired();
+    }
+
+    private Double lagSeconds(ReplicaRoutingDataSource.Replica replica) throws SQLException {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, properties.getHealthCheckInterval().toSeconds()));
+            try (ResultSet rs = statement.executeQuery(properties.getLagQuery())) {
+                if (!rs.next()) {
+                    return null;
+                }
+                Object lag = rs.getObject(lagColumn(rs.getMetaData()));
+                return lag instanceof Number number ? number.doubleValue() : null;
+            }
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            for (String name : LAG_COLUMNS) {
+                if (name.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                    return i;
+                }
+            }
+        }
+        // A custom lag query returning the seconds in its first column
+        return 1;
+    }
+}
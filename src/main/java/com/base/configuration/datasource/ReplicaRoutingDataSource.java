@@ -0,0 +1,152 @@
+package com.base.configuration.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections for read-only transactions: round robin over the healthy replicas,
+ * the primary while none is healthy or the current user wrote recently
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter readYourWritesRoutes;
+    private final Counter fallbackRoutes;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas,
+                                    ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        this.readYourWritesRoutes = routes(meterRegistry, "primary", "read-your-writes");
+        this.fallbackRoutes = routes(meterRegistry, "primary", "fallback");
+
+        for (Replica replica : this.replicas) {
+            replica.routed = routes(meterRegistry, replica.getName(), "replica");
+            Gauge.builder("app.datasource.replica.lag", replica, Replica::getLagSeconds)
+                    .description("Replication lag of the replica in seconds, -1 when unknown")
+                    .baseUnit("seconds")
+                    .tag("pool", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("app.datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .description("Whether the replica receives read-only transactions")
+                    .tag("pool", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    private static Counter routes(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("app.datasource.routing")
+                .description("Read-only connections by target pool and routing reason")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWrites.isWithinWindow()) {
+            readYourWritesRoutes.increment();
+            return primary.getConnection();
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isHealthy()) {
+                continue;
+            }
+            try {
+                Connection connection = replica.getDataSource().getConnection();
+                replica.routed.increment();
+                return connection;
+            } catch (SQLException e) {
+                // Taken out until the next health check passes
+                replica.markDown(e.getMessage());
+            }
+        }
+
+        fallbackRoutes.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica routing uses the pools' own credentials");
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.getDataSource().close());
+    }
+
+    /**
+     * A replica pool and its last health check
+     */
+    public static class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        // Unhealthy until the first check passes
+        private volatile boolean healthy;
+        private volatile double lagSeconds = -1;
+        private Counter routed;
+
+        public Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HikariDataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public double getLagSeconds() {
+            return lagSeconds;
+        }
+
+        void checked(double lagSeconds, boolean healthy) {
+            if (this.healthy != healthy) {
+                log.info("Replica {} is {} (lag {}s)", name, healthy ? "up" : "down", lagSeconds);
+            }
+            this.lagSeconds = lagSeconds;
+            this.healthy = healthy;
+        }
+
+        void markDown(String reason) {
+            if (healthy) {
+                log.warn("Replica {} is down: {}", name, reason);
+            }
+            healthy = false;
+            lagSeconds = -1;
+        }
+    }
+}
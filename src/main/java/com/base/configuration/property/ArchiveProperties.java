@@ -0,0 +1,28 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+    // Move soft deleted users to users_archive in the background
+    private boolean enabled = false;
+    // How long a user stays soft deleted in the hot table before being archived
+    private Duration retention = Duration.ofDays(30);
+    // Rows moved per transaction (keeps row locks and undo short)
+    private int chunkSize = 500;
+    // Pause between chunks, so the job never saturates the primary
+    private Duration pause = Duration.ofMillis(200);
+    // Upper bound of chunks per run; the rest waits for the next run
+    private int maxChunksPerRun = 200;
+    private Duration interval = Duration.ofHours(1);
+    // Create users_archive on first use (disable when schema changes go through migrations)
+    private boolean createTable = true;
+}
@@ -0,0 +1,15 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.bulk")
+public class BulkProperties {
+    // Users changed per statement / transaction by bulk operations
+    private int chunkSize = 1_000;
+}
@@ -0,0 +1,34 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.events.async")
+public class EventBusProperties {
+
+    public enum Backpressure {
+        // Publisher waits for a free slot
+        BLOCK,
+        // Event is dropped for the async subscribers (counted)
+        DROP,
+        // Async subscribers run on the publishing thread (may overtake queued events of the aggregate)
+        CALLER_RUNS
+    }
+
+    // Deliver subscribeAsync subscribers on the ring buffer workers (otherwise inline)
+    private boolean enabled = true;
+    // Worker threads; events of one aggregate always go to the same one
+    private int partitions = 4;
+    // Slots per partition, rounded up to a power of two
+    private int bufferSize = 1024;
+    private Backpressure backpressure = Backpressure.BLOCK;
+    // How long shutdown waits for the workers to drain their buffers
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
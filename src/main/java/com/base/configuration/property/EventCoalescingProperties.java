@@ -0,0 +1,20 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.events.coalescing")
+public class EventCoalescingProperties {
+    // Fold the events of one transaction per aggregate before they are stored / published
+    private boolean enabled = true;
+    // Event types (DomainEvent.getEventType) carrying the full state: of consecutive ones per aggregate only the last is kept
+    private List<String> keepLast = new ArrayList<>();
+}
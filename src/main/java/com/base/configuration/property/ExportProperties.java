@@ -0,0 +1,17 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.export")
+public class ExportProperties {
+    // MySQL Connector/J only streams row by row with Integer.MIN_VALUE (or useCursorFetch=true and a positive size)
+    private int fetchSize = Integer.MIN_VALUE;
+    // Flush the response every N rows so the client receives data while the export runs
+    private int flushEvery = 1_000;
+}
@@ -0,0 +1,17 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.id")
+public class IdAllocatorProperties {
+    // Ids reserved per round trip; unused ids of a block are skipped after a restart
+    private int blockSize = 100;
+    // Create the id_sequences table on first use when it is missing
+    private boolean createTable = true;
+}
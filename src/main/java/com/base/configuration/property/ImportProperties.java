@@ -0,0 +1,30 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.import")
+public class ImportProperties {
+    // Rows validated, checked and inserted together; bounds the memory of a running import
+    private int chunkSize = 1_000;
+    // Threads hashing passwords, 0 means one per CPU
+    private int hashThreads = 0;
+    // Row errors kept per job, the rest are only counted
+    private int maxErrors = 1_000;
+    // Uploads are spooled here so a failed job can resume from its checkpoint;
+    // shared storage when another instance should be able to resume it
+    private String spoolDir = System.getProperty("java.io.tmpdir") + "/user-imports";
+    // Finished jobs stay queryable this long
+    private Duration retention = Duration.ofHours(6);
+    // A queued or running job whose instance has not renewed it this long counts as interrupted and can be resumed
+    private Duration staleAfter = Duration.ofMinutes(5);
+    // Create user_import_jobs / user_import_job_errors at startup
+    private boolean createTable = true;
+}
@@ -0,0 +1,27 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.events.journal")
+public class JournalProperties {
+    // Append every published domain event to the local journal
+    private boolean enabled = false;
+    private String directory = "./data/event-journal";
+    // Segment files are preallocated and memory-mapped at this size, then rolled
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    // Sparse index: one entry per this many bytes of records
+    private DataSize indexInterval = DataSize.ofKilobytes(4);
+    // Group commit: appended records are fsynced together this often
+    private Duration flushInterval = Duration.ofMillis(50);
+    // Oldest segments beyond this are deleted
+    private int maxSegments = 16;
+}
@@ -0,0 +1,26 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+    // Store domain events in domain_event_outbox within the aggregate's transaction for the DomainEventSinks
+    // (in-process subscribers get them after commit either way)
+    private boolean enabled = true;
+    // Events relayed per transaction
+    private int batchSize = 200;
+    // Safety-net poll; commits also trigger a drain right away
+    private Duration pollInterval = Duration.ofSeconds(1);
+    // Recently relayed event ids remembered to skip redeliveries
+    private int dedupeCacheSize = 10_000;
+    // Create domain_event_outbox and its dead-letter table at startup (disable when schema changes go through migrations)
+    private boolean createTable = true;
+}
@@ -0,0 +1,25 @@
+package com.base.configuration.property;
+
+import com.base.shared.paging.CountExecution;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.paging")
+public class PagingProperties {
+    private Duration countCacheTtl = Duration.ofSeconds(30);
+    private int countCacheMaxEntries = 10_000;
+
+    // sequential: COUNT after the page query; concurrent: COUNT on the count executor meanwhile
+    private CountExecution countExecution = CountExecution.SEQUENTIAL;
+    // How long a page waits for a concurrent COUNT before returning an unknown total
+    private Duration concurrentCountTimeout = Duration.ofSeconds(2);
+    private int countPoolSize = 8;
+    private int countQueueCapacity = 100;
+}
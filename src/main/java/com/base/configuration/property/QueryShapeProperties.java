@@ -0,0 +1,24 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.query-shapes")
+public class QueryShapeProperties {
+    private boolean enabled = true;
+    // Queries slower than this are logged with their shape
+    private Duration slowThreshold = Duration.ofMillis(500);
+    // Distinct shapes tagged on meters, later shapes are tagged "other"
+    private int maxMeteredShapes = 200;
+    // Distinct shapes kept in the slow-shape table
+    private int maxTrackedShapes = 500;
+    // Rows returned by the actuator endpoint
+    private int topN = 20;
+}
@@ -0,0 +1,40 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+    // Send read-only transactions to the replicas below
+    private boolean enabled = false;
+    private List<Replica> replicas = new ArrayList<>();
+    // A replica further behind than this is skipped until it catches up
+    private Duration maxLag = Duration.ofSeconds(5);
+    // Replica health and lag are checked this often
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    // Returns the replica lag in seconds; MySQL's SHOW REPLICA STATUS is read from Seconds_Behind_Source
+    private String lagQuery = "SHOW REPLICA STATUS";
+    // After a write, the same user's read-only transactions stay on the primary this long
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String name;
+        private String url;
+        // Default to spring.datasource.username / password
+        private String username;
+        private String password;
+        private int maximumPoolSize = 20;
+        private int minimumIdle = 2;
+    }
+}
@@ -0,0 +1,20 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.retry")
+public class RetryProperties {
+    // Attempts of a @RetryOnConflict method, including the first one
+    private int maxAttempts = 3;
+    // Backoff ceiling before the first retry, doubled for every further one
+    private Duration initialBackoff = Duration.ofMillis(20);
+    private Duration maxBackoff = Duration.ofMillis(200);
+}
@@ -0,0 +1,30 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.user-uniqueness-filter")
+public class UniquenessFilterProperties {
+    // Skip the exists queries for usernames / emails the Bloom filter has never seen
+    private boolean enabled = true;
+    // Filter sizing floor; a rebuild sizes for twice the current users when that is larger
+    private long expectedInsertions = 1_000_000;
+    // Target false positive probability per filter
+    private double falsePositiveRate = 0.01;
+    // Rebuild when the estimated or observed false positive rate exceeds this
+    // (freed names of soft-deleted users stay in the filter until a rebuild)
+    private double maxFalsePositiveRate = 0.05;
+    // Checks of absent names needed before the observed rate is trusted
+    private long minSamples = 1_000;
+    // Rebuilt at least this often regardless of the rates
+    private Duration rebuildInterval = Duration.ofHours(6);
+    // Users read per keyset page while building
+    private int loadBatchSize = 5_000;
+}
@@ -0,0 +1,19 @@
+package com.base.configuration.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.search.user")
+public class UserSearchProperties {
+    // none (LIKE scan), fulltext (MySQL ngram index) or trigram (in-process index)
+    private String backend = "none";
+    // Above this many candidate ids the keyword is not selective, fall back to the scan
+    private int maxCandidates = 5_000;
+    // Rows per chunk when the trigram index is (re)built
+    private int rebuildBatchSize = 1_000;
+}
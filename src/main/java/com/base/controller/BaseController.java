@@ -3,6 +3,7 @@ package com.base.controller;
 import com.base.model.QueryParsers;
 import com.base.model.entity.BaseEntity3;
 import com.base.model.enumeration.Scope;
+import com.base.model.request.RequestSpec;
 import com.base.service.inter.BaseService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.data.domain.Page;
@@ -38,7 +39,15 @@ public abstract class BaseController<T extends BaseEntity3, RQ, RS> {
         Specification<T> spec = QueryParsers.buildSpecification(q, keywordFields(), filters, scope);
         Specification<T> extra = extraSpec();
         if (extra != null) spec = spec.and(extra);
-        return ResponseEntity.ok(service().getPage(pageable, spec));
+        RequestSpec<T> request = RequestSpec.<T>builder()
+                .pageable(pageable)
+                .scope(scope)
+                .keyword(q)
+                .filters(filters)
+                .specification(spec)
+                .countPolicy(QueryParsers.resolveCountPolicy(req))
+                .build();
+        return ResponseEntity.ok(service().getPage(request));
     }
 
     @PutMapping("/{id}")
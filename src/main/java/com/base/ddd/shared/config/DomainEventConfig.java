@@ -1,15 +1,24 @@
 package com.base.ddd.shared.config;
 
+import com.base.ddd.shared.domain.DomainEvent;
 import com.base.ddd.shared.domain.DomainEventPublisher;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+@Slf4j
 @Configuration
 public class DomainEventConfig {
 
     @Bean
     public DomainEventPublisher domainEventPublisher() {
         // dùng singleton sẵn có
-        return DomainEventPublisher.instance();
+        DomainEventPublisher publisher = DomainEventPublisher.instance();
+        publisher.setFailureHandler((events, failure) -> {
+            DomainEvent first = events.get(0);
+            log.error("Domain event subscriber failed on {} {}{}: {}", first.getEventType(), first.getEventId(),
+                    events.size() > 1 ? " (batch of " + events.size() + ")" : "", failure.getMessage(), failure);
+        });
+        return publisher;
     }
 }
\ No newline at end of file
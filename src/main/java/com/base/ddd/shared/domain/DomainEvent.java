@@ -1,12 +1,16 @@
 package com.base.ddd.shared.domain;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
  * Base class for all domain events
+ * Serializable: events are stored in the transactional outbox until relayed
  */
-public abstract class DomainEvent {
+public abstract class DomainEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final String eventId;
     private final LocalDateTime occurredOn;
@@ -16,6 +20,14 @@ public abstract class DomainEvent {
         this.occurredOn = LocalDateTime.now();
     }
 
+    /**
+     * Restore an event read back from storage, with its original id and time
+     */
+    protected DomainEvent(String eventId, LocalDateTime occurredOn) {
+        this.eventId = eventId;
+        this.occurredOn = occurredOn;
+    }
+
     public String getEventId() {
         return eventId;
     }
@@ -28,4 +40,12 @@ public abstract class DomainEvent {
      * Get event type for routing/filtering
      */
     public abstract String getEventType();
+
+    /**
+     * Id of the aggregate the event is about, null if none
+     * Asynchronous delivery keeps the events of one aggregate in order
+     */
+    public Object getAggregateId() {
+        return null;
+    }
 }
\ No newline at end of file
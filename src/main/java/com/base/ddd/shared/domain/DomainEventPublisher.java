@@ -1,19 +1,36 @@
 package com.base.ddd.shared.domain;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
  * Publisher for Domain Events
  * Implements the Observer pattern to notify subscribers when events occur
- * This is a simple in-memory implementation
+ * This is a simple in-memory implementation, safe for concurrent publishers:
+ * subscribers are resolved once per event class and cached, so a publish only
+ * touches the subscribers of that event
+ * Subscribers registered with subscribeAsync are handed to the {@link AsyncDelivery}
+ * (when one is set) instead of running on the publishing thread
+ * Batch subscribers get all their events of one publishAll call in a single list
+ * A failing subscriber is reported to the {@link FailureHandler} and does not stop the others
  */
 public class DomainEventPublisher {
 
-    private static DomainEventPublisher instance;
-    private final List<Consumer<DomainEvent>> subscribers = new ArrayList<>();
-    private boolean publishing = false;
+    private static volatile DomainEventPublisher instance;
+
+    // Replaced as a whole on every (rare) subscription change; publishers read it without locking
+    private volatile Registry registry = new Registry(List.of(), List.of());
+
+    // Re-entrant publishing is refused per thread; other threads publish concurrently
+    private final ThreadLocal<Boolean> publishing = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private volatile AsyncDelivery asyncDelivery;
+
+    private volatile FailureHandler failureHandler = DomainEventPublisher::printFailure;
 
     private DomainEventPublisher() {
     }
@@ -37,35 +54,77 @@ public class DomainEventPublisher {
      * @param subscriber Consumer that will handle the events
      */
     public void subscribe(Consumer<DomainEvent> subscriber) {
-        this.subscribers.add(subscriber);
+        add(new Subscription(DomainEvent.class, subscriber, false));
     }
 
     /**
      * Subscribe to specific type of domain events
-     * @param eventType Type of event to subscribe to
+     * @param eventType Type of event to subscribe to (subclasses included)
      * @param subscriber Consumer that will handle the events
      */
+    @SuppressWarnings("unchecked")
     public <T extends DomainEvent> void subscribe(Class<T> eventType, Consumer<T> subscriber) {
-        this.subscribers.add(event -> {
-            if (eventType.isInstance(event)) {
-                subscriber.accept(eventType.cast(event));
-            }
-        });
+        // Only ever handed events of eventType, see Registry.resolve
+        add(new Subscription(eventType, (Consumer<DomainEvent>) subscriber, false));
+    }
+
+    /**
+     * Subscribe to specific type of domain events, handled off the publishing thread
+     * Runs inline like any other subscriber while no {@link AsyncDelivery} is set
+     * @param eventType Type of event to subscribe to (subclasses included)
+     * @param subscriber Consumer that will handle the events
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends DomainEvent> void subscribeAsync(Class<T> eventType, Consumer<T> subscriber) {
+        add(new Subscription(eventType, (Consumer<DomainEvent>) subscriber, true));
+    }
+
+    /**
+     * Subscribe to specific type of domain events, receiving the matching events of each
+     * publishAll (for example one committed transaction) in one call, in publish order
+     * @param eventType Type of event to subscribe to (subclasses included)
+     * @param subscriber Consumer that will handle the events
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T extends DomainEvent> void subscribeBatch(Class<T> eventType, Consumer<List<T>> subscriber) {
+        List<BatchSubscription> batchSubscriptions = new ArrayList<>(registry.batchSubscriptions);
+        batchSubscriptions.add(new BatchSubscription(eventType, (Consumer<List<DomainEvent>>) (Consumer<?>) subscriber));
+        registry = new Registry(registry.subscriptions, batchSubscriptions);
+    }
+
+    /**
+     * Delivery used for subscribeAsync subscribers, null to run them inline
+     */
+    public void setAsyncDelivery(AsyncDelivery asyncDelivery) {
+        this.asyncDelivery = asyncDelivery;
+    }
+
+    /**
+     * Where subscriber failures are reported, null to print them to System.err
+     */
+    public void setFailureHandler(FailureHandler failureHandler) {
+        this.failureHandler = failureHandler != null ? failureHandler : DomainEventPublisher::printFailure;
     }
 
     /**
      * Unsubscribe from domain events
      * @param subscriber The subscriber to remove
      */
-    public void unsubscribe(Consumer<DomainEvent> subscriber) {
-        this.subscribers.remove(subscriber);
+    public synchronized void unsubscribe(Consumer<?> subscriber) {
+        List<Subscription> remaining = new ArrayList<>(registry.subscriptions);
+        List<BatchSubscription> remainingBatch = new ArrayList<>(registry.batchSubscriptions);
+        boolean removed = remaining.removeIf(subscription -> subscription.subscriber().equals(subscriber));
+        removed |= remainingBatch.removeIf(subscription -> subscription.subscriber.equals(subscriber));
+        if (removed) {
+            registry = new Registry(remaining, remainingBatch);
+        }
     }
 
     /**
      * Clear all subscribers
      */
-    public void clearSubscribers() {
-        this.subscribers.clear();
+    public synchronized void clearSubscribers() {
+        registry = new Registry(List.of(), List.of());
     }
 
     /**
@@ -76,37 +135,77 @@ public class DomainEventPublisher {
         if (event == null) {
             return;
         }
+        publishAll(List.of(event));
+    }
+
+    /**
+     * Publish multiple domain events
+     * Single-event subscribers are called per event, batch subscribers once with their share
+     * @param events List of events to publish
+     */
+    public void publishAll(List<? extends DomainEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
 
-        if (publishing) {
+        if (publishing.get()) {
             throw new IllegalStateException("Cannot publish event while already publishing");
         }
 
         try {
-            publishing = true;
-            for (Consumer<DomainEvent> subscriber : subscribers) {
-                try {
-                    subscriber.accept(event);
-                } catch (Exception e) {
-                    // Log error but continue notifying other subscribers
-                    System.err.println("Error notifying subscriber: " + e.getMessage());
+            publishing.set(Boolean.TRUE);
+            Registry current = registry;
+            Map<BatchSubscription, List<DomainEvent>> batches = null;
+
+            for (DomainEvent event : events) {
+                if (event == null) {
+                    continue;
+                }
+                Subscribers subscribers = current.subscribersOf(event.getClass());
+                invoke(event, subscribers.inline());
+
+                if (subscribers.async().length > 0) {
+                    AsyncDelivery delivery = asyncDelivery;
+                    if (delivery != null) {
+                        delivery.deliver(event, subscribers.async());
+                    } else {
+                        invoke(event, subscribers.async());
+                    }
+                }
+
+                for (BatchSubscription batch : subscribers.batch()) {
+                    if (batches == null) {
+                        batches = new LinkedHashMap<>();
+                    }
+                    batches.computeIfAbsent(batch, key -> new ArrayList<>()).add(event);
                 }
             }
+
+            if (batches != null) {
+                batches.forEach((batch, batchEvents) -> {
+                    try {
+                        batch.subscriber.accept(batchEvents);
+                    } catch (Exception e) {
+                        failureHandler.subscriberFailed(batchEvents, e);
+                    }
+                });
+            }
         } finally {
-            publishing = false;
+            publishing.set(Boolean.FALSE);
         }
     }
 
     /**
-     * Publish multiple domain events
-     * @param events List of events to publish
+     * Hand the event to each subscriber, one failing subscriber does not stop the others
+     * Failures go to the {@link FailureHandler}, nothing is thrown to the caller
      */
-    public void publishAll(List<DomainEvent> events) {
-        if (events == null || events.isEmpty()) {
-            return;
-        }
-
-        for (DomainEvent event : events) {
-            publish(event);
+    public void invoke(DomainEvent event, Consumer<DomainEvent>[] subscribers) {
+        for (Consumer<DomainEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (Exception e) {
+                failureHandler.subscriberFailed(List.of(event), e);
+            }
         }
     }
 
@@ -114,13 +213,95 @@ public class DomainEventPublisher {
      * Check if there are any subscribers
      */
     public boolean hasSubscribers() {
-        return !subscribers.isEmpty();
+        return subscriberCount() > 0;
     }
 
     /**
      * Get number of subscribers
      */
     public int subscriberCount() {
-        return subscribers.size();
+        return registry.subscriptions.size() + registry.batchSubscriptions.size();
+    }
+
+    private synchronized void add(Subscription subscription) {
+        List<Subscription> subscriptions = new ArrayList<>(registry.subscriptions);
+        subscriptions.add(subscription);
+        registry = new Registry(subscriptions, registry.batchSubscriptions);
+    }
+
+    /**
+     * Runs subscribeAsync subscribers somewhere other than the publishing thread
+     */
+    public interface AsyncDelivery {
+        void deliver(DomainEvent event, Consumer<DomainEvent>[] subscribers);
+    }
+
+    /**
+     * Told about every subscriber that threw; called on the thread that ran the subscriber
+     */
+    @FunctionalInterface
+    public interface FailureHandler {
+        /**
+         * @param events the event a subscriber failed on, or the whole list of a batch subscriber
+         */
+        void subscriberFailed(List<DomainEvent> events, Exception failure);
+    }
+
+    private static void printFailure(List<DomainEvent> events, Exception failure) {
+        System.err.println("Error notifying subscriber: " + failure.getMessage());
+    }
+
+    private record Subscription(Class<?> eventType, Consumer<DomainEvent> subscriber, boolean async) {
+    }
+
+    // Identity matters: the same handler may be subscribed twice
+    private static final class BatchSubscription {
+        private final Class<?> eventType;
+        private final Consumer<List<DomainEvent>> subscriber;
+
+        private BatchSubscription(Class<?> eventType, Consumer<List<DomainEvent>> subscriber) {
+            this.eventType = eventType;
+            this.subscriber = subscriber;
+        }
+    }
+
+    private record Subscribers(Consumer<DomainEvent>[] inline, Consumer<DomainEvent>[] async,
+                               BatchSubscription[] batch) {
+    }
+
+    /**
+     * Immutable subscriber list plus the subscribers resolved per concrete event class
+     * (in subscription order, supertype subscriptions included)
+     */
+    private static final class Registry {
+        private final List<Subscription> subscriptions;
+        private final List<BatchSubscription> batchSubscriptions;
+        private final Map<Class<?>, Subscribers> resolved = new ConcurrentHashMap<>();
+
+        private Registry(List<Subscription> subscriptions, List<BatchSubscription> batchSubscriptions) {
+            this.subscriptions = List.copyOf(subscriptions);
+            this.batchSubscriptions = List.copyOf(batchSubscriptions);
+        }
+
+        Subscribers subscribersOf(Class<?> eventClass) {
+            Subscribers subscribers = resolved.get(eventClass);
+            return subscribers != null ? subscribers : resolved.computeIfAbsent(eventClass, this::resolve);
+        }
+
+        private Subscribers resolve(Class<?> eventClass) {
+            return new Subscribers(resolve(eventClass, false), resolve(eventClass, true),
+                    batchSubscriptions.stream()
+                            .filter(subscription -> subscription.eventType.isAssignableFrom(eventClass))
+                            .toArray(BatchSubscription[]::new));
+        }
+
+        @SuppressWarnings("unchecked")
+        private Consumer<DomainEvent>[] resolve(Class<?> eventClass, boolean async) {
+            return subscriptions.stream()
+                    .filter(subscription -> subscription.async() == async
+                            && subscription.eventType().isAssignableFrom(eventClass))
+                    .map(Subscription::subscriber)
+                    .toArray(Consumer[]::new);
+        }
     }
-}
\ No newline at end of file
+}
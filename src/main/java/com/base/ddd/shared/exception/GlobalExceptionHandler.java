@@ -3,6 +3,7 @@ package com.base.ddd.shared.exception;
 import jakarta.persistence.OptimisticLockException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -108,7 +109,8 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
-    @ExceptionHandler({ConcurrentModificationException.class, OptimisticLockException.class})
+    @ExceptionHandler({ConcurrentModificationException.class, OptimisticLockException.class,
+            OptimisticLockingFailureException.class})
     public ResponseEntity<ErrorResponse> handleConcurrentModification(Exception ex) {
         log.error("Concurrent modification: {}", ex.getMessage());
 
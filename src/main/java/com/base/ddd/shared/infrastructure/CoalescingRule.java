@@ -0,0 +1,17 @@
+package com.base.ddd.shared.infrastructure;
+
+import com.base.ddd.shared.domain.DomainEvent;
+
+/**
+ * How two events of one type about the same aggregate, raised in one transaction, fold into one
+ * Declared as beans and picked up by the {@link DomainEventCoalescer}
+ */
+public interface CoalescingRule<T extends DomainEvent> {
+
+    Class<T> eventType();
+
+    /**
+     * @return the event standing for both, or null when together they change nothing
+     */
+    T merge(T earlier, T later);
+}
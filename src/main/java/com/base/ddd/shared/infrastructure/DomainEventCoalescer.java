@@ -0,0 +1,96 @@
+package com.base.ddd.shared.infrastructure;
+
+import com.base.configuration.property.EventCoalescingProperties;
+import com.base.ddd.shared.domain.DomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+
+/**
+ * Folds the events of one transaction per aggregate: consecutive events of a type with a {@link CoalescingRule}
+ * (or listed as keep-last) about the same aggregate become one
+ * Any other event of that aggregate in between ends the run, so the order of an aggregate's events is kept
+ * (status change, deletion, status change stay three events); events of other aggregates do not
+ * Events without a rule or an aggregate id pass through unchanged, in order
+ */
+@Component
+public class DomainEventCoalescer {
+
+    private final EventCoalescingProperties properties;
+    private final Map<Class<?>, BinaryOperator<DomainEvent>> rules = new HashMap<>();
+    private final Set<String> keepLast;
+    private final Counter coalesced;
+
+    @SuppressWarnings("unchecked")
+    public DomainEventCoalescer(EventCoalescingProperties properties, ObjectProvider<CoalescingRule<?>> rules,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.keepLast = Set.copyOf(properties.getKeepLast());
+        rules.orderedStream().forEach(rule -> {
+            CoalescingRule<DomainEvent> typed = (CoalescingRule<DomainEvent>) rule;
+            this.rules.put(rule.eventType(), typed::merge);
+        });
+        this.coalesced = Counter.builder("app.events.coalesced")
+                .description("Domain events folded into another event of the same aggregate")
+                .register(meterRegistry);
+    }
+
+    public List<DomainEvent> coalesce(List<DomainEvent> events) {
+        if (!properties.isEnabled() || events.size() < 2) {
+            return events;
+        }
+
+        List<DomainEvent> result = new ArrayList<>(events.size());
+        Map<Key, Integer> positions = new HashMap<>();
+        // Position of each aggregate's latest event, a key only folds into the event there
+        Map<Object, Integer> latest = new HashMap<>();
+        for (DomainEvent event : events) {
+            Object aggregateId = event.getAggregateId();
+            BinaryOperator<DomainEvent> rule = ruleFor(event);
+            if (rule == null || aggregateId == null) {
+                if (aggregateId != null) {
+                    latest.put(aggregateId, result.size());
+                }
+                result.add(event);
+                continue;
+            }
+
+            Key key = new Key(event.getClass(), aggregateId);
+            Integer position = positions.get(key);
+            if (position == null || result.get(position) == null || !position.equals(latest.get(aggregateId))) {
+                positions.put(key, result.size());
+                latest.put(aggregateId, result.size());
+                result.add(event);
+            } else {
+                // null: the two cancel out, a later event of the key starts over
+                result.set(position, rule.apply(result.get(position), event));
+            }
+        }
+        result.removeIf(Objects::isNull);
+
+        if (result.size() < events.size()) {
+            coalesced.increment(events.size() - result.size());
+        }
+        return result;
+    }
+
+    private BinaryOperator<DomainEvent> ruleFor(DomainEvent event) {
+        BinaryOperator<DomainEvent> rule = rules.get(event.getClass());
+        if (rule == null && keepLast.contains(event.getEventType())) {
+            return (earlier, later) -> later;
+        }
+        return rule;
+    }
+
+    private record Key(Class<?> type, Object aggregateId) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.base.ddd.shared.infrastructure;
+
+import com.base.ddd.shared.domain.DomainEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Binary form of domain events stored in the outbox
+ * Java serialization: the event comes back with its own id, time and fields
+ */
+public final class DomainEventCodec {
+
+    // Only our own events (and the JDK types they hold) are ever deserialized
+    private static final ObjectInputFilter FILTER =
+            ObjectInputFilter.Config.createFilter("com.base.**;java.lang.*;java.time.*;java.util.*;!*");
+
+    private DomainEventCodec() {
+    }
+
+    public static byte[] encode(DomainEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot serialize " + event.getEventType(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException when the bytes are not a readable event (class changed or removed)
+     */
+    public static DomainEvent decode(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(FILTER);
+            return (DomainEvent) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.base.ddd.shared.infrastructure;
+
+import com.base.ddd.shared.domain.AggregateRoot;
+import com.base.ddd.shared.domain.DomainEvent;
+import com.base.ddd.shared.domain.DomainEventPublisher;
+import com.base.ddd.shared.infrastructure.outbox.DomainEventOutbox;
+import com.base.ddd.shared.infrastructure.outbox.OutboxRelay;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands the pending events of an aggregate to the {@link DomainEventPublisher}
+ * Inside a transaction the events are collected for the whole transaction, coalesced per aggregate
+ * ({@link DomainEventCoalescer}) and published after commit in one publishAll, so subscribers never see
+ * rolled back changes and batch subscribers get them together
+ * In-process subscribers keep per-instance state, so they always get the events of their own instance here;
+ * only the external sinks are fed through the outbox ({@link OutboxRelay#isActive}), stored just before
+ * the commit so a crash after commit cannot lose them
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DomainEventDispatcher {
+
+    private final DomainEventPublisher eventPublisher;
+    private final DomainEventCoalescer coalescer;
+    private final DomainEventOutbox outbox;
+    private final OutboxRelay outboxRelay;
+
+    public void dispatch(AggregateRoot<?> aggregate) {
+        List<DomainEvent> events = List.copyOf(aggregate.getDomainEvents());
+        aggregate.clearDomainEvents();
+        dispatch(events);
+    }
+
+    /**
+     * Events raised without an aggregate instance (set-based writes)
+     */
+    public void dispatch(List<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishAll(coalescer.coalesce(List.copyOf(events)));
+            return;
+        }
+
+        scope().events.addAll(events);
+    }
+
+    /**
+     * The collecting scope of the current transaction, bound on first use
+     */
+    private EventScope scope() {
+        EventScope scope = (EventScope) TransactionSynchronizationManager.getResource(this);
+        if (scope == null) {
+            scope = new EventScope(outboxRelay.isActive()
+                    && TransactionSynchronizationManager.isActualTransactionActive());
+            TransactionSynchronizationManager.bindResource(this, scope);
+            TransactionSynchronizationManager.registerSynchronization(scope);
+        }
+        return scope;
+    }
+
+    private final class EventScope implements TransactionSynchronization {
+        private final boolean toOutbox;
+        private final List<DomainEvent> events = new ArrayList<>();
+        private List<DomainEvent> coalesced = List.of();
+
+        private EventScope(boolean toOutbox) {
+            this.toOutbox = toOutbox;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            coalesced = coalescer.coalesce(events);
+            if (toOutbox && !coalesced.isEmpty()) {
+                outbox.append(coalesced);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (coalesced.isEmpty()) {
+                return;
+            }
+            eventPublisher.publishAll(coalesced);
+            log.debug("Published {} domain events after commit ({} raised)", coalesced.size(), events.size());
+            if (toOutbox) {
+                outboxRelay.requestDrain();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DomainEventDispatcher.this);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.base.ddd.shared.infrastructure;
+
+import com.base.configuration.property.IdAllocatorProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pooled (hi/lo) id allocator backed by the id_sequences table
+ * Reserves ids in blocks with one UPDATE per block, so aggregates get their id before the INSERT
+ * and Hibernate can batch the inserts (IDENTITY columns disable JDBC batching)
+ */
+@Slf4j
+@Component
+public class IdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdAllocatorProperties properties;
+    private final TransactionTemplate reservation;
+
+    // sequence (= table name) -> block currently handed out
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public IdAllocator(JdbcTemplate jdbcTemplate, IdAllocatorProperties properties,
+                       PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+
+        // Own short transaction, so the sequence row lock is not held until the caller commits
+        this.reservation = new TransactionTemplate(transactionManager);
+        this.reservation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Created up front: DDL on the caller's connection would commit its transaction implicitly (MySQL)
+     */
+    @PostConstruct
+    void createTable() {
+        if (!properties.isCreateTable()) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS id_sequences (" +
+                "sequence_name VARCHAR(64) NOT NULL PRIMARY KEY, " +
+                "next_val BIGINT NOT NULL)");
+    }
+
+    /**
+     * Next id for the table; only hits the database when the current block is used up
+     */
+    public long next(String table) {
+        return blocks.computeIfAbsent(table, Block::new).next();
+    }
+
+    /**
+     * Reserve the next block and return its exclusive end
+     */
+    private long reserve(String table, int size) {
+        Long end = reservation.execute(status -> {
+            if (bump(table, size) == 0) {
+                // First block of this sequence: continue after the ids already in the table
+                jdbcTemplate.update("INSERT IGNORE INTO id_sequences (sequence_name, next_val) " +
+                        "SELECT ?, COALESCE(MAX(id), 0) + 1 FROM " + table, table);
+                bump(table, size);
+            }
+            return jdbcTemplate.queryForObject(
+                    "SELECT next_val FROM id_sequences WHERE sequence_name = ?", Long.class, table);
+        });
+        log.debug("Reserved ids [{}, {}) for {}", end - size, end, table);
+        return end;
+    }
+
+    private int bump(String table, int size) {
+        return jdbcTemplate.update(
+                "UPDATE id_sequences SET next_val = next_val + ? WHERE sequence_name = ?", size, table);
+    }
+
+    private final class Block {
+        private final String table;
+        private long next;
+        private long end;
+
+        private Block(String table) {
+            this.table = table;
+        }
+
+        synchronized long next() {
+            if (next >= end) {
+                int size = properties.getBlockSize();
+                end = reserve(table, size);
+                next = end - size;
+            }
+            return next++;
+        }
+    }
+}
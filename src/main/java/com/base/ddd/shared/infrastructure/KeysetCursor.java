@@ -0,0 +1,81 @@
+package com.base.ddd.shared.infrastructure;
+
+import com.base.ddd.shared.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Opaque cursor for keyset (seek) pagination
+ * Holds the sort signature and the sort key values of a boundary row
+ */
+public final class KeysetCursor {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<String>> TOKEN_TYPE = new TypeReference<>() {
+    };
+
+    private final String signature;
+    private final List<String> values;
+
+    private KeysetCursor(String signature, List<String> values) {
+        this.signature = signature;
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    public static KeysetCursor of(String signature, List<String> values) {
+        return new KeysetCursor(signature, values);
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token);
+            List<String> parts = OBJECT_MAPPER.readValue(json, TOKEN_TYPE);
+            if (parts == null || parts.isEmpty()) {
+                throw new ValidationException("Invalid pagination cursor");
+            }
+            return new KeysetCursor(parts.get(0), parts.subList(1, parts.size()));
+        } catch (IllegalArgumentException | java.io.IOException e) {
+            throw new ValidationException("Invalid pagination cursor");
+        }
+    }
+
+    public String encode() {
+        List<String> parts = new ArrayList<>(values.size() + 1);
+        parts.add(signature);
+        parts.addAll(values);
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsString(parts).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode pagination cursor", e);
+        }
+    }
+
+    /**
+     * Ensure the cursor was issued for the same sort order
+     */
+    public KeysetCursor requireSignature(String expected) {
+        if (!signature.equals(expected) || values.isEmpty()) {
+            throw new ValidationException("Pagination cursor does not match the requested sort order");
+        }
+        return this;
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+
+    public List<String> getValues() {
+        return values;
+    }
+}
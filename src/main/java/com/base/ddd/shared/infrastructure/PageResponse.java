@@ -1,5 +1,9 @@
 package com.base.ddd.shared.infrastructure;
 
+import com.base.shared.paging.CountedPage;
+import com.base.shared.paging.PageTotal;
+import com.base.shared.paging.TotalKind;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,6 +11,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -22,6 +27,12 @@ public class PageResponse<T> {
     private List<T> content;
     private PageMetadata metadata;
 
+    /**
+     * Facet name -> value counts under the same filter, only when facets were requested
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, List<FacetValue>> facets;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -29,25 +40,32 @@ public class PageResponse<T> {
     public static class PageMetadata {
         private int page;
         private int size;
-        private long totalElements;
-        private int totalPages;
+        private Long totalElements;
+        private Integer totalPages;
+        private TotalKind totalKind;
         private boolean first;
         private boolean last;
         private boolean empty;
+        private boolean hasNext;
+        private boolean hasPrevious;
+
+        // Keyset pagination
+        private String nextCursor;
+        private String previousCursor;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetValue {
+        private String value;
+        private long count;
     }
 
     public static <T> PageResponse<T> of(Page<T> page) {
         return PageResponse.<T>builder()
                 .content(page.getContent())
-                .metadata(PageMetadata.builder()
-                        .page(page.getNumber())
-                        .size(page.getSize())
-                        .totalElements(page.getTotalElements())
-                        .totalPages(page.getTotalPages())
-                        .first(page.isFirst())
-                        .last(page.isLast())
-                        .empty(page.isEmpty())
-                        .build())
+                .metadata(metadataOf(page))
                 .build();
     }
 
@@ -56,26 +74,82 @@ public class PageResponse<T> {
                 .content(page.getContent().stream()
                         .map(mapper)
                         .collect(Collectors.toList()))
+                .metadata(metadataOf(page))
+                .build();
+    }
+
+    /**
+     * Build an offset page whose total was resolved by a {@link com.base.shared.paging.CountPolicy}
+     */
+    public static <T> PageResponse<T> of(List<T> content, int page, int size, PageTotal total, boolean hasNext) {
+        return PageResponse.<T>builder()
+                .content(content)
+                .metadata(PageMetadata.builder()
+                        .page(page)
+                        .size(size)
+                        .totalElements(total.total())
+                        .totalPages(total.totalPages(size))
+                        .totalKind(total.kind())
+                        .first(page == 0)
+                        .last(!hasNext)
+                        .empty(content.isEmpty())
+                        .hasNext(hasNext)
+                        .hasPrevious(page > 0)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Build a keyset page; cursors are null when there is no page in that direction
+     */
+    public static <T> PageResponse<T> ofKeyset(List<T> content, int size, PageTotal total,
+                                               String nextCursor, String previousCursor) {
+        return PageResponse.<T>builder()
+                .content(content)
                 .metadata(PageMetadata.builder()
-                        .page(page.getNumber())
-                        .size(page.getSize())
-                        .totalElements(page.getTotalElements())
-                        .totalPages(page.getTotalPages())
-                        .first(page.isFirst())
-                        .last(page.isLast())
-                        .empty(page.isEmpty())
+                        .page(0)
+                        .size(size)
+                        .totalElements(total.total())
+                        .totalPages(total.totalPages(size))
+                        .totalKind(total.kind())
+                        .first(previousCursor == null)
+                        .last(nextCursor == null)
+                        .empty(content.isEmpty())
+                        .hasNext(nextCursor != null)
+                        .hasPrevious(previousCursor != null)
+                        .nextCursor(nextCursor)
+                        .previousCursor(previousCursor)
                         .build())
                 .build();
     }
 
+    private static PageMetadata metadataOf(Page<?> page) {
+        TotalKind totalKind = page instanceof CountedPage<?> counted ? counted.getTotalKind() : TotalKind.EXACT;
+        boolean totalKnown = totalKind != TotalKind.UNKNOWN;
+
+        return PageMetadata.builder()
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(totalKnown ? page.getTotalElements() : null)
+                .totalPages(totalKnown ? page.getTotalPages() : null)
+                .totalKind(totalKind)
+                .first(page.isFirst())
+                .last(page.isLast())
+                .empty(page.isEmpty())
+                .hasNext(page.hasNext())
+                .hasPrevious(page.hasPrevious())
+                .build();
+    }
+
     public static <T> PageResponse<T> empty() {
         return PageResponse.<T>builder()
                 .content(List.of())
                 .metadata(PageMetadata.builder()
                         .page(0)
                         .size(0)
-                        .totalElements(0)
+                        .totalElements(0L)
                         .totalPages(0)
+                        .totalKind(TotalKind.EXACT)
                         .first(true)
                         .last(true)
                         .empty(true)
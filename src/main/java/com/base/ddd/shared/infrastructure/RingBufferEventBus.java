@@ -0,0 +1,252 @@
+package com.base.ddd.shared.infrastructure;
+
+import com.base.configuration.property.EventBusProperties;
+import com.base.configuration.property.EventBusProperties.Backpressure;
+import com.base.ddd.shared.domain.DomainEvent;
+import com.base.ddd.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous delivery for subscribeAsync subscribers
+ * Each partition is a bounded ring of preallocated slots drained by one dedicated worker;
+ * events are partitioned by aggregate id, so the events of one aggregate are handled in publish order
+ */
+@Slf4j
+@Component
+public class RingBufferEventBus implements DomainEventPublisher.AsyncDelivery {
+
+    private final DomainEventPublisher eventPublisher;
+    private final EventBusProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private Partition[] partitions;
+    // Spreads events without an aggregate id over the partitions
+    private final AtomicLong unkeyed = new AtomicLong();
+    private volatile boolean running;
+
+    private Timer lag;
+    private Counter delivered;
+    private Counter dropped;
+    private Counter callerRuns;
+
+    public RingBufferEventBus(DomainEventPublisher eventPublisher, EventBusProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        lag = Timer.builder("app.events.async.lag")
+                .description("Time from publish until an async subscriber starts handling the event")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        delivered = counter("delivered");
+        dropped = counter("dropped");
+        callerRuns = counter("caller_runs");
+
+        int size = Integer.highestOneBit(Math.max(2, properties.getBufferSize() - 1)) << 1;
+        partitions = new Partition[Math.max(1, properties.getPartitions())];
+        for (int i = 0; i < partitions.length; i++) {
+            Partition partition = new Partition(i, size);
+            partitions[i] = partition;
+            Gauge.builder("app.events.async.queue.depth", partition, Partition::depth)
+                    .description("Events waiting in the partition's ring buffer")
+                    .tag("partition", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+
+        running = true;
+        for (Partition partition : partitions) {
+            partition.worker.start();
+        }
+        eventPublisher.setAsyncDelivery(this);
+        log.info("Async event bus started: {} partitions x {} slots, backpressure {}",
+                partitions.length, size, properties.getBackpressure());
+    }
+
+    @Override
+    public void deliver(DomainEvent event, Consumer<DomainEvent>[] subscribers) {
+        if (!running) {
+            eventPublisher.invoke(event, subscribers);
+            return;
+        }
+
+        Backpressure backpressure = properties.getBackpressure();
+        if (partitionOf(event).offer(event, subscribers, backpressure == Backpressure.BLOCK)) {
+            return;
+        }
+
+        if (backpressure == Backpressure.DROP) {
+            dropped.increment();
+            log.warn("Async event bus full, dropped {} {}", event.getEventType(), event.getEventId());
+        } else {
+            // CALLER_RUNS, or BLOCK interrupted / shutting down: rather late than lost
+            callerRuns.increment();
+            eventPublisher.invoke(event, subscribers);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (!running) {
+            return;
+        }
+        eventPublisher.setAsyncDelivery(null);
+        running = false;
+
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        for (Partition partition : partitions) {
+            partition.wakeUp();
+        }
+        for (Partition partition : partitions) {
+            try {
+                partition.worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (partition.worker.isAlive()) {
+                log.warn("Async event partition {} not drained on shutdown, {} events left",
+                        partition.index, partition.depth());
+            }
+        }
+    }
+
+    private Partition partitionOf(DomainEvent event) {
+        Object key = event.getAggregateId();
+        long hash = key != null ? key.hashCode() : unkeyed.getAndIncrement();
+        return partitions[(int) Math.floorMod(hash ^ (hash >>> 16), (long) partitions.length)];
+    }
+
+    private Counter counter(String outcome) {
+        return Counter.builder("app.events.async")
+                .description("Events handed to the async event bus")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Mutable holder reused for every event passing through its position in the ring
+     */
+    private static final class Slot {
+        private DomainEvent event;
+        private Consumer<DomainEvent>[] subscribers;
+        private long publishedAt;
+    }
+
+    private final class Partition implements Runnable {
+        private final int index;
+        private final Slot[] slots;
+        private final int mask;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final Thread worker;
+
+        // Sequences: next slot to consume / to fill; only written under the lock
+        private volatile long head;
+        private volatile long tail;
+
+        private Partition(int index, int size) {
+            this.index = index;
+            this.slots = new Slot[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = new Slot();
+            }
+            this.mask = size - 1;
+            this.worker = new Thread(this, "domain-events-" + index);
+            this.worker.setDaemon(true);
+        }
+
+        boolean offer(DomainEvent event, Consumer<DomainEvent>[] subscribers, boolean block) {
+            lock.lock();
+            try {
+                while (tail - head == slots.length) {
+                    if (!block || !running) {
+                        return false;
+                    }
+                    notFull.await();
+                }
+                Slot slot = slots[(int) (tail & mask)];
+                slot.event = event;
+                slot.subscribers = subscribers;
+                slot.publishedAt = System.nanoTime();
+                tail++;
+                notEmpty.signal();
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                DomainEvent event;
+                Consumer<DomainEvent>[] subscribers;
+                long publishedAt;
+
+                lock.lock();
+                try {
+                    while (head == tail) {
+                        if (!running) {
+                            return;
+                        }
+                        notEmpty.awaitUninterruptibly();
+                    }
+                    Slot slot = slots[(int) (head & mask)];
+                    event = slot.event;
+                    subscribers = slot.subscribers;
+                    publishedAt = slot.publishedAt;
+                    slot.event = null;
+                    slot.subscribers = null;
+                    head++;
+                    notFull.signal();
+                } finally {
+                    lock.unlock();
+                }
+
+                lag.record(System.nanoTime() - publishedAt, TimeUnit.NANOSECONDS);
+                // Subscriber failures are reported by the publisher, see DomainEventConfig
+                eventPublisher.invoke(event, subscribers);
+                delivered.increment();
+            }
+        }
+
+        void wakeUp() {
+            lock.lock();
+            try {
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        double depth() {
+            return tail - head;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.base.ddd.shared.infrastructure;
 
+import com.base.shared.paging.CountPolicy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,6 +34,27 @@ public class SearchRequest {
     @Builder.Default
     private List<SortRequest> sorts = new ArrayList<>();
 
+    /**
+     * Keyset pagination: return rows after / before the given cursor token.
+     * Set keyset=true (or pass a cursor) to use it instead of page/offset.
+     */
+    @Builder.Default
+    private Boolean keyset = false;
+
+    private String after;
+    private String before;
+
+    /**
+     * Sparse fieldset: DTO properties to select, empty means all of them
+     */
+    private List<String> fields;
+
+    /**
+     * How the total is obtained: exact, none, firstPageOnly or cached
+     */
+    @Builder.Default
+    private CountPolicy countPolicy = CountPolicy.EXACT;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -76,6 +98,18 @@ public class SearchRequest {
         return searchFields != null && !searchFields.isEmpty();
     }
 
+    public boolean hasAfter() {
+        return after != null && !after.isBlank();
+    }
+
+    public boolean hasBefore() {
+        return before != null && !before.isBlank();
+    }
+
+    public boolean isKeysetMode() {
+        return Boolean.TRUE.equals(keyset) || hasAfter() || hasBefore();
+    }
+
     public Integer getValidPage() {
         return page != null && page >= 0 ? page : 0;
     }
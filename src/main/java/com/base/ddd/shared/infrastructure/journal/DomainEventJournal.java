@@ -0,0 +1,312 @@
+package com.base.ddd.shared.infrastructure.journal;
+
+import com.base.configuration.property.JournalProperties;
+import com.base.ddd.shared.domain.DomainEvent;
+import com.base.ddd.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Local append-only journal of every published domain event, for rebuilding read models and debugging
+ * Events get a gapless sequence number and are written to memory-mapped segment files that roll at a fixed size;
+ * a sparse index per segment lets a replay start near any sequence number or time and read on sequentially
+ * Writes are made durable by a periodic group commit (one fsync for everything appended since the last)
+ * Events are stored field by field through their {@link JournalEventFormat}; types without one are not journaled
+ */
+@Slf4j
+@Component
+public class DomainEventJournal {
+
+    private final JournalProperties properties;
+    private final DomainEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final JournalEventCodec codec;
+
+    private final Set<Class<?>> unformatted = ConcurrentHashMap.newKeySet();
+
+    // By base sequence number; replays iterate it while the writer rolls and retires segments
+    private final ConcurrentSkipListMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private Path directory;
+    private volatile JournalSegment active;
+    private volatile boolean open;
+    private volatile boolean dirty;
+
+    // Guarded by this
+    private long nextOffset;
+    private long lastTimestamp;
+
+    private Counter appended;
+    private Counter bytes;
+    private Counter replayed;
+    private Timer fsync;
+
+    public DomainEventJournal(JournalProperties properties, DomainEventPublisher eventPublisher,
+                              ObjectProvider<JournalEventFormat<?>> formats, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.codec = new JournalEventCodec(formats.orderedStream().toList());
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            directory = Paths.get(properties.getDirectory());
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.filter(JournalSegment::isSegment).sorted().toList()) {
+                    JournalSegment segment = JournalSegment.open(file);
+                    segments.put(segment.baseOffset(), segment);
+                }
+            }
+            if (segments.isEmpty()) {
+                JournalSegment segment = JournalSegment.create(directory, 0, segmentCapacity());
+                segments.put(0L, segment);
+            }
+            active = segments.lastEntry().getValue();
+            active.clearTail();
+            nextOffset = active.nextOffset();
+            lastTimestamp = active.lastTimestamp();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Event journal disabled, cannot open {}: {}", properties.getDirectory(), e.getMessage());
+            return;
+        }
+
+        appended = Counter.builder("app.events.journal.appended")
+                .description("Domain events appended to the journal")
+                .register(meterRegistry);
+        bytes = Counter.builder("app.events.journal.bytes")
+                .description("Record bytes appended to the journal")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        replayed = Counter.builder("app.events.journal.replayed")
+                .description("Journal events handed to replay subscribers")
+                .register(meterRegistry);
+        fsync = Timer.builder("app.events.journal.fsync")
+                .description("Group commit of the appended records to disk")
+                .register(meterRegistry);
+        Gauge.builder("app.events.journal.segments", segments, Map::size)
+                .description("Segment files in the journal")
+                .register(meterRegistry);
+
+        open = true;
+        eventPublisher.subscribeBatch(DomainEvent.class, this::append);
+        log.info("Event journal at {}, next sequence {}", directory.toAbsolutePath(), nextOffset);
+    }
+
+    /**
+     * Append the events in order; durable after the next flush
+     */
+    public synchronized void append(List<? extends DomainEvent> events) {
+        if (!open) {
+            return;
+        }
+        try {
+            for (DomainEvent event : events) {
+                if (!codec.supports(event)) {
+                    if (unformatted.add(event.getClass())) {
+                        log.warn("No journal format for {}, its events are not journaled", event.getClass().getName());
+                    }
+                    continue;
+                }
+                byte[] payload = codec.encode(event);
+                // Never decreasing, so the time index stays sorted when the clock steps back
+                long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+                int indexInterval = (int) properties.getIndexInterval().toBytes();
+                if (!active.append(nextOffset, timestamp, payload, indexInterval)) {
+                    roll();
+                    if (!active.append(nextOffset, timestamp, payload, indexInterval)) {
+                        log.warn("{} of {} bytes does not fit a journal segment, not journaled",
+                                event.getEventType(), payload.length);
+                        continue;
+                    }
+                }
+                nextOffset++;
+                lastTimestamp = timestamp;
+                appended.increment();
+                bytes.increment(JournalSegment.HEADER + payload.length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Event journal append failed", e);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Group commit: one fsync covers every record appended since the previous one
+     */
+    @Scheduled(fixedDelayString = "${app.events.journal.flush-interval:PT0.05S}")
+    public void flush() {
+        if (!open || !dirty) {
+            return;
+        }
+        dirty = false;
+        JournalSegment segment = active;
+        fsync.record(() -> {
+            try {
+                segment.force();
+            } catch (IOException e) {
+                dirty = true;
+                log.warn("Event journal flush failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Sequence number the next appended event gets
+     */
+    public synchronized long nextOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * Hand every journaled event from the sequence number on to the subscriber, in order
+     */
+    public Replay replay(long fromOffset, Consumer<? super DomainEvent> subscriber) {
+        Long start = segments.floorKey(fromOffset);
+        if (start == null) {
+            start = segments.isEmpty() ? 0L : segments.firstKey();
+        }
+        return replay(start, fromOffset, segment -> segment.positionForOffset(fromOffset),
+                (offset, timestamp) -> offset >= fromOffset, subscriber);
+    }
+
+    /**
+     * Hand every journaled event appended at or after the time to the subscriber, in order
+     */
+    public Replay replay(Instant from, Consumer<? super DomainEvent> subscriber) {
+        long millis = from.toEpochMilli();
+        Long start = segments.isEmpty() ? 0L : segments.firstKey();
+        for (JournalSegment segment : segments.values()) {
+            if (segment.firstTimestamp() >= millis) {
+                break;
+            }
+            start = segment.baseOffset();
+        }
+        return replay(start, start, segment -> segment.positionForTimestamp(millis),
+                (offset, timestamp) -> timestamp >= millis, subscriber);
+    }
+
+    /**
+     * Replay only the events of one type
+     */
+    public <T extends DomainEvent> Replay replay(long fromOffset, Class<T> eventType, Consumer<? super T> subscriber) {
+        return replay(fromOffset, event -> {
+            if (eventType.isInstance(event)) {
+                subscriber.accept(eventType.cast(event));
+            }
+        });
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        for (JournalSegment segment : segments.values()) {
+            try {
+                segment.force();
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Event journal segment {} not closed cleanly: {}", segment.baseOffset(), e.getMessage());
+            }
+        }
+    }
+
+    private Replay replay(long startSegment, long fromOffset, PositionLookup startPosition, RecordFilter filter,
+                          Consumer<? super DomainEvent> subscriber) {
+        if (!open) {
+            return new Replay(0, fromOffset);
+        }
+        long[] count = new long[1];
+        long[] next = new long[]{fromOffset};
+        boolean first = true;
+        for (JournalSegment segment : segments.tailMap(startSegment).values()) {
+            int position = first ? startPosition.of(segment) : 0;
+            first = false;
+            segment.scan(position, (offset, timestamp, payload) -> {
+                if (filter.accept(offset, timestamp)) {
+                    DomainEvent event = decode(offset, payload);
+                    if (event != null) {
+                        subscriber.accept(event);
+                        count[0]++;
+                    }
+                }
+                next[0] = Math.max(next[0], offset + 1);
+                return true;
+            });
+        }
+        replayed.increment(count[0]);
+        return new Replay(count[0], next[0]);
+    }
+
+    private int segmentCapacity() {
+        return Math.toIntExact(properties.getSegmentSize().toBytes());
+    }
+
+    private void roll() throws IOException {
+        active.force();
+        JournalSegment segment = JournalSegment.create(directory, nextOffset, segmentCapacity());
+        segments.put(nextOffset, segment);
+        active = segment;
+
+        while (segments.size() > Math.max(1, properties.getMaxSegments())) {
+            JournalSegment retired = segments.pollFirstEntry().getValue();
+            // A replay still reading it keeps its mapping; only the files go
+            retired.delete();
+        }
+    }
+
+    // null when the record cannot be read back (no format for its type or version)
+    private DomainEvent decode(long offset, byte[] payload) {
+        try {
+            return codec.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.error("Unreadable journal event {}: {}", offset, e.getMessage());
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface PositionLookup {
+        int of(JournalSegment segment);
+    }
+
+    @FunctionalInterface
+    private interface RecordFilter {
+        boolean accept(long offset, long timestamp);
+    }
+
+    /**
+     * @param events     events handed to the subscriber
+     * @param nextOffset sequence number to continue from with the next replay
+     */
+    public record Replay(long events, long nextOffset) {
+    }
+}
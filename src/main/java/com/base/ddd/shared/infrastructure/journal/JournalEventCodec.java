@@ -0,0 +1,96 @@
+package com.base.ddd.shared.infrastructure.journal;
+
+import com.base.ddd.shared.domain.DomainEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Record payload of the journal, field by field through the {@link JournalEventFormat}s (no class names,
+ * no Java serialization): byte codec version | UTF event type | short layout version
+ * | event id (two longs) | occurred on (long epoch second, int nano) | the format's fields
+ */
+final class JournalEventCodec {
+
+    private static final int CODEC_VERSION = 1;
+
+    private final Map<Class<?>, JournalEventFormat<DomainEvent>> byClass = new HashMap<>();
+    private final Map<String, JournalEventFormat<DomainEvent>> byType = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    JournalEventCodec(List<JournalEventFormat<?>> formats) {
+        for (JournalEventFormat<?> format : formats) {
+            JournalEventFormat<DomainEvent> typed = (JournalEventFormat<DomainEvent>) format;
+            byClass.put(format.eventClass(), typed);
+            if (byType.put(format.eventType(), typed) != null) {
+                throw new IllegalStateException("Two journal formats for event type " + format.eventType());
+            }
+        }
+    }
+
+    boolean supports(DomainEvent event) {
+        return byClass.containsKey(event.getClass());
+    }
+
+    /**
+     * @throws IllegalArgumentException when no format is declared for the event's class
+     */
+    byte[] encode(DomainEvent event) {
+        JournalEventFormat<DomainEvent> format = byClass.get(event.getClass());
+        if (format == null) {
+            throw new IllegalArgumentException("No journal format for " + event.getClass().getName());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(CODEC_VERSION);
+            out.writeUTF(format.eventType());
+            out.writeShort(format.version());
+            UUID id = UUID.fromString(event.getEventId());
+            out.writeLong(id.getMostSignificantBits());
+            out.writeLong(id.getLeastSignificantBits());
+            LocalDateTime occurredOn = event.getOccurredOn();
+            out.writeLong(occurredOn.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(occurredOn.getNano());
+            format.write(event, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot encode " + event.getEventType(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException when the record is malformed or its type / version is unknown
+     */
+    DomainEvent decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int codecVersion = in.readUnsignedByte();
+            if (codecVersion != CODEC_VERSION) {
+                throw new IllegalArgumentException("Unknown journal codec version " + codecVersion);
+            }
+            String eventType = in.readUTF();
+            int version = in.readUnsignedShort();
+            JournalEventFormat<DomainEvent> format = byType.get(eventType);
+            if (format == null || version > format.version()) {
+                throw new IllegalArgumentException("No journal format for " + eventType + " v" + version);
+            }
+            String eventId = new UUID(in.readLong(), in.readLong()).toString();
+            LocalDateTime occurredOn = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            return format.read(version, new JournalEventFormat.Header(eventId, occurredOn), in);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Malformed journal record: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.base.ddd.shared.infrastructure.journal;
+
+import com.base.ddd.shared.domain.DomainEvent;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Explicit binary layout of one event type in the {@link DomainEventJournal}
+ * Declared as beans; the event type and layout version go into every record, so a record is always
+ * read with the layout it was written in (bump the version when the fields change, keep reading the old ones)
+ */
+public interface JournalEventFormat<T extends DomainEvent> {
+
+    Class<T> eventClass();
+
+    /**
+     * Written into each record, normally the event's getEventType(); never reuse it for another layout
+     */
+    String eventType();
+
+    /**
+     * Version of the layout written now
+     */
+    int version();
+
+    void write(T event, DataOutput out) throws IOException;
+
+    /**
+     * @param version layout version the record was written with
+     * @param header  id and time of the stored event, to restore it with
+     */
+    T read(int version, Header header, DataInput in) throws IOException;
+
+    record Header(String eventId, LocalDateTime occurredOn) {
+    }
+
+    static <T extends DomainEvent> JournalEventFormat<T> of(Class<T> eventClass, String eventType, int version,
+                                                            Writer<T> writer, Reader<T> reader) {
+        return new JournalEventFormat<>() {
+            @Override
+            public Class<T> eventClass() {
+                return eventClass;
+            }
+
+            @Override
+            public String eventType() {
+                return eventType;
+            }
+
+            @Override
+            public int version() {
+                return version;
+            }
+
+            @Override
+            public void write(T event, DataOutput out) throws IOException {
+                writer.write(event, out);
+            }
+
+            @Override
+            public T read(int version, Header header, DataInput in) throws IOException {
+                return reader.read(version, header, in);
+            }
+        };
+    }
+
+    static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeNullable(DataOutput out, Enum<?> value) throws IOException {
+        writeNullable(out, value != null ? value.name() : null);
+    }
+
+    static <E extends Enum<E>> E readNullable(DataInput in, Class<E> type) throws IOException {
+        String name = readNullable(in);
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    @FunctionalInterface
+    interface Writer<T> {
+        void write(T event, DataOutput out) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface Reader<T> {
+        T read(int version, Header header, DataInput in) throws IOException;
+    }
+}
@@ -0,0 +1,277 @@
+package com.base.ddd.shared.infrastructure.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped, preallocated journal file plus its sparse index
+ *
+ * Record: int payload length | int CRC32 (sequence, timestamp, payload) | long sequence | long timestamp | payload
+ * A zero length marks the end of the written part. Index entry: long sequence | long timestamp | int position
+ * Single writer (the journal, under its lock); readers scan concurrently up to the published write position
+ */
+final class JournalSegment implements Closeable {
+
+    static final int HEADER = 24;
+    private static final int INDEX_ENTRY = 20;
+
+    private final long baseOffset;
+    private final Path logPath;
+    private final Path indexPath;
+    private final FileChannel channel;
+    private final FileChannel indexChannel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    // Sparse index (sequence and timestamp never decrease), guarded by this
+    private long[] indexOffsets = new long[64];
+    private long[] indexTimestamps = new long[64];
+    private int[] indexPositions = new int[64];
+    private int indexSize;
+
+    // End of the last complete record; written by the appender only, after the record bytes
+    private volatile int writePosition;
+    private long nextOffset;
+    private long lastTimestamp;
+    private int lastIndexedPosition;
+
+    private JournalSegment(Path logPath, long baseOffset, int capacity) throws IOException {
+        this.baseOffset = baseOffset;
+        this.logPath = logPath;
+        this.indexPath = logPath.resolveSibling(name(baseOffset, ".idx"));
+        this.channel = FileChannel.open(logPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.indexChannel = FileChannel.open(indexPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.capacity = capacity;
+        // Mapping past the end grows the file to the full (sparse) segment size
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        this.nextOffset = baseOffset;
+    }
+
+    static JournalSegment create(Path directory, long baseOffset, int capacity) throws IOException {
+        return new JournalSegment(directory.resolve(name(baseOffset, ".log")), baseOffset, capacity);
+    }
+
+    /**
+     * Open an existing segment and find where its valid records end (a crash may leave a torn record)
+     */
+    static JournalSegment open(Path logPath) throws IOException {
+        String file = logPath.getFileName().toString();
+        long baseOffset = Long.parseLong(file.substring(0, file.indexOf('.')));
+        JournalSegment segment = new JournalSegment(logPath, baseOffset, Math.toIntExact(Files.size(logPath)));
+        segment.recover();
+        return segment;
+    }
+
+    static boolean isSegment(Path path) {
+        return path.getFileName().toString().matches("\\d{20}\\.log");
+    }
+
+    long baseOffset() {
+        return baseOffset;
+    }
+
+    long nextOffset() {
+        return nextOffset;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    int size() {
+        return writePosition;
+    }
+
+    /**
+     * Append one record; false when the segment has no room left for it
+     */
+    boolean append(long offset, long timestamp, byte[] payload, int indexInterval) throws IOException {
+        int position = writePosition;
+        int end = position + HEADER + payload.length;
+        // Keep the end marker inside the file
+        if (end + Integer.BYTES > capacity) {
+            return false;
+        }
+
+        buffer.putLong(position + 8, offset);
+        buffer.putLong(position + 16, timestamp);
+        buffer.put(position + HEADER, payload);
+        buffer.putInt(position + 4, checksum(position, payload.length));
+        buffer.putInt(position, payload.length);
+
+        if (indexSize == 0 || position - lastIndexedPosition >= indexInterval) {
+            addIndexEntry(offset, timestamp, position, true);
+            lastIndexedPosition = position;
+        }
+        nextOffset = offset + 1;
+        lastTimestamp = timestamp;
+        writePosition = end;
+        return true;
+    }
+
+    /**
+     * Visit the records from the given position on, in order, until the visitor returns false
+     * or the written part ends; records appended meanwhile are included
+     * @return false when the visitor stopped the scan
+     */
+    boolean scan(int fromPosition, RecordVisitor visitor) {
+        int position = fromPosition;
+        while (true) {
+            int end = recordEnd(position, writePosition);
+            if (end < 0) {
+                return true;
+            }
+            byte[] payload = new byte[end - position - HEADER];
+            buffer.get(position + HEADER, payload);
+            if (!visitor.visit(buffer.getLong(position + 8), buffer.getLong(position + 16), payload)) {
+                return false;
+            }
+            position = end;
+        }
+    }
+
+    /**
+     * Position of the last indexed record at or before the sequence (scan start for it)
+     */
+    synchronized int positionForOffset(long offset) {
+        int i = floor(indexOffsets, offset);
+        return i < 0 ? 0 : indexPositions[i];
+    }
+
+    /**
+     * Position of the last indexed record stamped before the time (scan start for it)
+     */
+    synchronized int positionForTimestamp(long timestamp) {
+        int i = floor(indexTimestamps, timestamp - 1);
+        return i < 0 ? 0 : indexPositions[i];
+    }
+
+    synchronized long firstTimestamp() {
+        return indexSize == 0 ? Long.MAX_VALUE : indexTimestamps[0];
+    }
+
+    void force() throws IOException {
+        buffer.force();
+        indexChannel.force(false);
+    }
+
+    /**
+     * Zero everything after the valid records, so leftovers of a torn write never look like records
+     */
+    void clearTail() {
+        byte[] zeros = new byte[8192];
+        for (int position = writePosition; position < capacity; position += zeros.length) {
+            buffer.put(position, zeros, 0, Math.min(zeros.length, capacity - position));
+        }
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(logPath);
+        Files.deleteIfExists(indexPath);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        indexChannel.close();
+    }
+
+    private void recover() throws IOException {
+        ByteBuffer entries = ByteBuffer.allocate(Math.toIntExact(indexChannel.size() / INDEX_ENTRY * INDEX_ENTRY));
+        indexChannel.read(entries, 0);
+        entries.flip();
+        while (entries.remaining() >= INDEX_ENTRY) {
+            addIndexEntry(entries.getLong(), entries.getLong(), entries.getInt(), false);
+        }
+
+        // Index entries are only written after their record: scan on from the last one
+        int position = indexSize == 0 ? 0 : indexPositions[indexSize - 1];
+        while (indexSize > 0 && recordEnd(position, capacity) < 0) {
+            // The indexed record itself did not make it to disk
+            indexSize--;
+            position = indexSize == 0 ? 0 : indexPositions[indexSize - 1];
+        }
+        for (int end; (end = recordEnd(position, capacity)) >= 0; position = end) {
+            nextOffset = buffer.getLong(position + 8) + 1;
+            lastTimestamp = buffer.getLong(position + 16);
+        }
+        writePosition = position;
+        lastIndexedPosition = indexSize == 0 ? 0 : indexPositions[indexSize - 1];
+        indexChannel.truncate((long) indexSize * INDEX_ENTRY);
+    }
+
+    // End of the valid record at the position, or -1 (end marker, out of bounds or checksum mismatch)
+    private int recordEnd(int position, int limit) {
+        if (position + HEADER > limit) {
+            return -1;
+        }
+        int length = buffer.getInt(position);
+        if (length <= 0 || length > limit - position - HEADER) {
+            return -1;
+        }
+        if (buffer.getInt(position + 4) != checksum(position, length)) {
+            return -1;
+        }
+        return position + HEADER + length;
+    }
+
+    private int checksum(int position, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position + 8, 16 + length));
+        return (int) crc.getValue();
+    }
+
+    private synchronized void addIndexEntry(long offset, long timestamp, int position, boolean persist)
+            throws IOException {
+        if (indexSize == indexOffsets.length) {
+            indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+            indexTimestamps = Arrays.copyOf(indexTimestamps, indexSize * 2);
+            indexPositions = Arrays.copyOf(indexPositions, indexSize * 2);
+        }
+        indexOffsets[indexSize] = offset;
+        indexTimestamps[indexSize] = timestamp;
+        indexPositions[indexSize] = position;
+        indexSize++;
+
+        if (persist) {
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY).putLong(offset).putLong(timestamp).putInt(position);
+            entry.flip();
+            indexChannel.write(entry, (long) (indexSize - 1) * INDEX_ENTRY);
+        }
+    }
+
+    // Index of the last entry <= key, -1 if none
+    private int floor(long[] keys, long key) {
+        int low = 0;
+        int high = indexSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private static String name(long baseOffset, String extension) {
+        return String.format("%020d%s", baseOffset, extension);
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        boolean visit(long offset, long timestamp, byte[] payload);
+    }
+}
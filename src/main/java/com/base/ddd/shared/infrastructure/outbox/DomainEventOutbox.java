@@ -0,0 +1,141 @@
+package com.base.ddd.shared.infrastructure.outbox;
+
+import com.base.configuration.property.OutboxProperties;
+import com.base.ddd.shared.domain.DomainEvent;
+import com.base.ddd.shared.infrastructure.DomainEventCodec;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Transactional outbox table for domain events
+ * Events are written with the aggregate in the caller's transaction, and read back by the {@link OutboxRelay}
+ * The payload is the {@link DomainEventCodec} form, so sinks get the very same event (id, time, fields)
+ * Rows that cannot be read back are moved to domain_event_outbox_dead_letter, out of the relay's way
+ */
+@Slf4j
+@Component
+public class DomainEventOutbox {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final OutboxProperties properties;
+
+    public DomainEventOutbox(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                             OutboxProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Created up front: DDL inside a business transaction would commit it implicitly (MySQL)
+     */
+    @PostConstruct
+    void createTable() {
+        if (!properties.isEnabled() || !properties.isCreateTable()) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS domain_event_outbox (" +
+                "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                "event_id VARCHAR(36) NOT NULL, " +
+                "event_type VARCHAR(100) NOT NULL, " +
+                "aggregate_id VARCHAR(100), " +
+                "payload MEDIUMBLOB NOT NULL, " +
+                "occurred_on DATETIME(6) NOT NULL, " +
+                "created_at DATETIME(6) NOT NULL, " +
+                "UNIQUE KEY uk_outbox_event_id (event_id))");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS domain_event_outbox_dead_letter (" +
+                "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                "outbox_id BIGINT NOT NULL, " +
+                "event_id VARCHAR(36) NOT NULL, " +
+                "event_type VARCHAR(100) NOT NULL, " +
+                "aggregate_id VARCHAR(100), " +
+                "payload MEDIUMBLOB NOT NULL, " +
+                "occurred_on DATETIME(6) NOT NULL, " +
+                "created_at DATETIME(6) NOT NULL, " +
+                "dead_lettered_at DATETIME(6) NOT NULL, " +
+                "KEY idx_outbox_dead_letter_event_id (event_id))");
+    }
+
+    /**
+     * Store the events in the current transaction; an event id already stored is ignored
+     */
+    public void append(List<DomainEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate("INSERT IGNORE INTO domain_event_outbox " +
+                        "(event_id, event_type, aggregate_id, payload, occurred_on, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                events.stream()
+                        .map(event -> new Object[]{
+                                event.getEventId(),
+                                event.getEventType(),
+                                Objects.toString(event.getAggregateId(), null),
+                                DomainEventCodec.encode(event),
+                                event.getOccurredOn(),
+                                now})
+                        .toList());
+    }
+
+    /**
+     * Lock the next batch after the given id, skipping rows another relay holds
+     * Must run in a transaction; the rows stay locked until it ends
+     */
+    public List<Entry> lockBatch(long afterId, int limit) {
+        return jdbcTemplate.query("SELECT id, event_id, payload, created_at FROM domain_event_outbox " +
+                        "WHERE id > ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> new Entry(
+                        rs.getLong("id"),
+                        rs.getString("event_id"),
+                        rs.getObject("created_at", LocalDateTime.class),
+                        deserialize(rs.getLong("id"), rs.getBytes("payload"))),
+                afterId, limit);
+    }
+
+    public void delete(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            namedJdbcTemplate.update("DELETE FROM domain_event_outbox WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", ids));
+        }
+    }
+
+    /**
+     * Move rows that cannot be relayed to domain_event_outbox_dead_letter (kept there for inspection)
+     * Must run in the transaction that locked them
+     */
+    public void deadLetter(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("now", LocalDateTime.now());
+        namedJdbcTemplate.update("INSERT INTO domain_event_outbox_dead_letter " +
+                "(outbox_id, event_id, event_type, aggregate_id, payload, occurred_on, created_at, dead_lettered_at) " +
+                "SELECT id, event_id, event_type, aggregate_id, payload, occurred_on, created_at, :now " +
+                "FROM domain_event_outbox WHERE id IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM domain_event_outbox WHERE id IN (:ids)", params);
+    }
+
+    // null when the stored event cannot be read back (class changed or removed)
+    private static DomainEvent deserialize(long id, byte[] payload) {
+        try {
+            return DomainEventCodec.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.error("Unreadable outbox event {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * One stored event; event is null when it could not be deserialized
+     */
+    public record Entry(long id, String eventId, LocalDateTime createdAt, DomainEvent event) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.base.ddd.shared.infrastructure.outbox;
+
+import com.base.ddd.shared.domain.DomainEvent;
+
+import java.util.List;
+
+/**
+ * External destination of the events relayed from the outbox (message broker, other service, ...)
+ * Each event goes to one instance's relay only, so sinks must not hold per-instance state
+ * Delivery is at-least-once: a sink may see an event id again and should ignore it
+ */
+public interface DomainEventSink {
+
+    /**
+     * Deliver one event; throwing leaves its batch in the outbox for the next poll
+     */
+    void deliver(DomainEvent event);
+
+    /**
+     * Deliver one relayed batch, in order; throwing leaves the whole batch for the next poll
+     */
+    default void deliverAll(List<DomainEvent> events) {
+        events.forEach(this::deliver);
+    }
+}
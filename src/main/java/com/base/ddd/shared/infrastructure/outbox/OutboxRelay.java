@@ -0,0 +1,205 @@
+package com.base.ddd.shared.infrastructure.outbox;
+
+import com.base.configuration.property.OutboxProperties;
+import com.base.ddd.shared.domain.DomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains domain_event_outbox to the external {@link DomainEventSink}s (brokers, other services), at-least-once
+ * In-process subscribers are not fed from here: they keep per-instance state and get every event of their
+ * instance after commit (DomainEventDispatcher), while the relays of several instances compete for rows
+ * Batches are locked with SKIP LOCKED (several instances share the work), delivered, then deleted
+ * in the same transaction; a crash in between delivers the batch again, so event ids relayed
+ * recently are remembered and skipped
+ * Unreadable rows are dead-lettered as they are met, so everything left in the table is still to be
+ * delivered and each drain can start again from the lowest id (the failed batch comes first, in order)
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final DomainEventOutbox outbox;
+    private final List<DomainEventSink> sinks;
+    private final OutboxProperties properties;
+    private final TransactionTemplate batchTransaction;
+
+    // One drain at a time: commits and the poll only queue a drain when none is pending
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "outbox-relay"));
+    private final AtomicBoolean drainPending = new AtomicBoolean();
+
+    // Only touched by the relay thread
+    private final Map<String, Boolean> recentlyRelayed;
+
+    private final Counter relayed;
+    private final Counter duplicates;
+    private final Counter failures;
+    private final Counter deadLettered;
+    private final Timer lag;
+
+    public OutboxRelay(DomainEventOutbox outbox, List<DomainEventSink> sinks, OutboxProperties properties,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.outbox = outbox;
+        this.sinks = List.copyOf(sinks);
+        this.properties = properties;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+
+        int cacheSize = properties.getDedupeCacheSize();
+        this.recentlyRelayed = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        this.relayed = Counter.builder("app.outbox.relayed")
+                .description("Outbox events delivered to the sinks")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("app.outbox.duplicates")
+                .description("Outbox events skipped as already relayed")
+                .register(meterRegistry);
+        this.failures = Counter.builder("app.outbox.failures")
+                .description("Outbox events that could not be delivered")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("app.outbox.dead.lettered")
+                .description("Unreadable outbox events moved to the dead-letter table")
+                .register(meterRegistry);
+        this.lag = Timer.builder("app.outbox.lag")
+                .description("Time from the outbox write until delivery")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        if (properties.isEnabled() && this.sinks.isEmpty()) {
+            log.info("No DomainEventSink declared, domain events are only published in-process");
+        }
+    }
+
+    /**
+     * Whether events go through the outbox: enabled, and some sink to relay them to
+     */
+    public boolean isActive() {
+        return properties.isEnabled() && !sinks.isEmpty();
+    }
+
+    /**
+     * Drain soon on the relay thread (called after a commit that wrote events)
+     */
+    public void requestDrain() {
+        if (!drainPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                drainPending.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down: the next start relays what is left
+            drainPending.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    public void poll() {
+        if (isActive()) {
+            requestDrain();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    private void drain() {
+        long cursor = 0;
+        try {
+            while (true) {
+                long from = cursor;
+                Batch batch = batchTransaction.execute(status -> relayBatch(from));
+                if (batch == null || batch.lastId() == from || batch.failed()) {
+                    return;
+                }
+                cursor = batch.lastId();
+                if (batch.size() < properties.getBatchSize()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay stopped: {}", e.getMessage());
+        }
+    }
+
+    private Batch relayBatch(long afterId) {
+        List<DomainEventOutbox.Entry> entries = outbox.lockBatch(afterId, properties.getBatchSize());
+        if (entries.isEmpty()) {
+            return new Batch(0, afterId, false);
+        }
+
+        List<DomainEventOutbox.Entry> pending = new ArrayList<>(entries.size());
+        List<Long> done = new ArrayList<>(entries.size());
+        List<Long> unreadable = new ArrayList<>();
+        for (DomainEventOutbox.Entry entry : entries) {
+            if (entry.event() == null) {
+                // Will not get readable by retrying: out of the table, later events are not held up by it
+                unreadable.add(entry.id());
+            } else if (recentlyRelayed.containsKey(entry.eventId())) {
+                duplicates.increment();
+                done.add(entry.id());
+            } else {
+                pending.add(entry);
+            }
+        }
+
+        boolean failed = false;
+        if (!pending.isEmpty()) {
+            List<DomainEvent> events = pending.stream().map(DomainEventOutbox.Entry::event).toList();
+            try {
+                for (DomainEventSink sink : sinks) {
+                    sink.deliverAll(events);
+                }
+                LocalDateTime now = LocalDateTime.now();
+                for (DomainEventOutbox.Entry entry : pending) {
+                    recentlyRelayed.put(entry.eventId(), Boolean.TRUE);
+                    lag.record(Duration.between(entry.createdAt(), now));
+                    done.add(entry.id());
+                }
+                relayed.increment(pending.size());
+            } catch (RuntimeException e) {
+                // The whole batch stays, in order, for the next attempt
+                failures.increment(pending.size());
+                log.warn("Outbox batch of {} events not delivered: {}", pending.size(), e.getMessage());
+                failed = true;
+            }
+        }
+
+        outbox.delete(done);
+        if (!unreadable.isEmpty()) {
+            outbox.deadLetter(unreadable);
+            deadLettered.increment(unreadable.size());
+        }
+        return new Batch(entries.size(), entries.get(entries.size() - 1).id(), failed);
+    }
+
+    private record Batch(int size, long lastId, boolean failed) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.base.ddd.user.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome (or progress, while running) of a bulk status change
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusChangeResult {
+    // Distinct ids requested
+    private int total;
+    // Ids handled so far
+    private int processed;
+    // Users whose status actually changed
+    private long changed;
+
+    /**
+     * Missing, deleted, already in the status or not allowed to move to it
+     */
+    public long getSkipped() {
+        return processed - changed;
+    }
+}
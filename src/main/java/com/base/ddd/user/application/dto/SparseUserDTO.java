@@ -0,0 +1,12 @@
+package com.base.ddd.user.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * UserDTO of a sparse-fieldset search / filter result
+ * Only the selected columns are filled, so the properties left null are omitted from the JSON;
+ * full UserDTO responses keep their null properties
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SparseUserDTO extends UserDTO {
+}
@@ -7,6 +7,8 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
+import java.util.List;
+
 /**
  * User Query
  */
@@ -28,4 +30,13 @@ public class UserQuery extends SearchRequest {
 
     private String createdBy;
     private String updatedBy;
+
+    /**
+     * Facets to count under the same filter: status, deleted, age, createdBy
+     */
+    private List<String> facets;
+
+    public boolean hasFacets() {
+        return facets != null && !facets.isEmpty();
+    }
 }
\ No newline at end of file
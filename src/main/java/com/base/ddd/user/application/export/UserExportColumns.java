@@ -0,0 +1,61 @@
+package com.base.ddd.user.application.export;
+
+import com.base.ddd.shared.exception.ValidationException;
+import com.base.ddd.user.application.dto.UserDTO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Exportable UserDTO properties, in default column order
+ */
+public final class UserExportColumns {
+
+    private static final Map<String, Function<UserDTO, Object>> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", UserDTO::getId);
+        COLUMNS.put("username", UserDTO::getUsername);
+        COLUMNS.put("email", UserDTO::getEmail);
+        COLUMNS.put("fullName", UserDTO::getFullName);
+        COLUMNS.put("phoneNumber", UserDTO::getPhoneNumber);
+        COLUMNS.put("status", UserDTO::getStatus);
+        COLUMNS.put("age", UserDTO::getAge);
+        COLUMNS.put("address", UserDTO::getAddress);
+        COLUMNS.put("avatarUrl", UserDTO::getAvatarUrl);
+        COLUMNS.put("createdAt", UserDTO::getCreatedAt);
+        COLUMNS.put("createdBy", UserDTO::getCreatedBy);
+        COLUMNS.put("updatedAt", UserDTO::getUpdatedAt);
+        COLUMNS.put("updatedBy", UserDTO::getUpdatedBy);
+        COLUMNS.put("version", UserDTO::getVersion);
+        COLUMNS.put("deleted", UserDTO::getDeleted);
+    }
+
+    private UserExportColumns() {}
+
+    /**
+     * Requested columns (all when empty), validated before anything is written
+     */
+    public static List<String> resolve(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return List.copyOf(COLUMNS.keySet());
+        }
+        List<String> columns = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            if (!COLUMNS.containsKey(field)) {
+                throw new ValidationException("Unknown field: " + field);
+            }
+            if (!columns.contains(field)) {
+                columns.add(field);
+            }
+        }
+        return columns;
+    }
+
+    public static Object value(UserDTO row, String column) {
+        return COLUMNS.get(column).apply(row);
+    }
+}
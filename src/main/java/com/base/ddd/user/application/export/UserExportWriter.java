@@ -0,0 +1,120 @@
+package com.base.ddd.user.application.export;
+
+import com.base.ddd.user.application.dto.UserDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes exported rows one at a time, nothing is buffered beyond the output buffer
+ */
+public interface UserExportWriter extends AutoCloseable {
+
+    void write(UserDTO row) throws IOException;
+
+    void flush() throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    static UserExportWriter open(UserExportFormat format, List<String> columns,
+                                 ObjectMapper objectMapper, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> new Ndjson(objectMapper, out);
+            case CSV -> new Csv(columns, out);
+        };
+    }
+
+    /**
+     * One JSON object per line
+     */
+    final class Ndjson implements UserExportWriter {
+        private final SequenceWriter writer;
+
+        Ndjson(ObjectMapper objectMapper, OutputStream out) throws IOException {
+            this.writer = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out);
+        }
+
+        @Override
+        public void write(UserDTO row) throws IOException {
+            writer.write(row);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row
+     */
+    final class Csv implements UserExportWriter {
+        private final List<String> columns;
+        private final Writer writer;
+
+        Csv(List<String> columns, OutputStream out) throws IOException {
+            this.columns = columns;
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCell(columns.get(i));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(UserDTO row) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCell(UserExportColumns.value(row, columns.get(i)));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Flush only, the servlet container owns the response stream
+            writer.flush();
+        }
+
+        private void writeCell(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.base.ddd.user.application.imports;
+
+import com.base.ddd.shared.exception.ValidationException;
+
+import java.util.Locale;
+
+/**
+ * Supported import formats
+ */
+public enum UserImportFormat {
+
+    NDJSON("ndjson"),
+    CSV("csv");
+
+    private final String extension;
+
+    UserImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * From the format parameter, or the request content type when it is missing
+     */
+    public static UserImportFormat from(String value, String contentType) {
+        if (value == null || value.isBlank()) {
+            return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/csv") ? CSV : NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unsupported import format: " + value);
+        }
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
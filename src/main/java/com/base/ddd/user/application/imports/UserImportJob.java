@@ -0,0 +1,180 @@
+package com.base.ddd.user.application.imports;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Builder;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * State of one import; written by the worker running it, read by status requests
+ * Counters only move when a chunk is committed, so a resumed job starts from a consistent checkpoint
+ * The same state is kept in the {@link UserImportJobStore}, so a job outlives the instance running it
+ */
+public class UserImportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * A rejected row
+     */
+    public record RowError(long line, String message) {
+    }
+
+    private final String id;
+    private final UserImportFormat format;
+    private final Path spoolFile;
+    private final int maxErrors;
+    private final Instant createdAt;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile long checkpointLine;
+    private volatile long rowsRead;
+    private volatile long imported;
+    private volatile long rejected;
+    private final List<RowError> errors = new CopyOnWriteArrayList<>();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+
+    public UserImportJob(String id, UserImportFormat format, Path spoolFile, int maxErrors) {
+        this.id = id;
+        this.format = format;
+        this.spoolFile = spoolFile;
+        this.maxErrors = maxErrors;
+        this.createdAt = Instant.now();
+    }
+
+    /**
+     * A job read back from the {@link UserImportJobStore}
+     */
+    @Builder(builderMethodName = "restore")
+    private UserImportJob(String id, UserImportFormat format, Path spoolFile, int maxErrors, Instant createdAt,
+                          Status status, long checkpointLine, long rowsRead, long imported, long rejected,
+                          List<RowError> errors, Instant startedAt, Instant finishedAt, String failure) {
+        this.id = id;
+        this.format = format;
+        this.spoolFile = spoolFile;
+        this.maxErrors = maxErrors;
+        this.createdAt = createdAt;
+        this.status = status;
+        this.checkpointLine = checkpointLine;
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.rejected = rejected;
+        if (errors != null) {
+            this.errors.addAll(errors);
+        }
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.failure = failure;
+    }
+
+    void started() {
+        status = Status.RUNNING;
+        startedAt = Instant.now();
+        finishedAt = null;
+        failure = null;
+    }
+
+    /**
+     * Record a committed chunk ending at the given line
+     */
+    void chunkCommitted(long lastLine, int rows, int importedRows, List<RowError> rowErrors) {
+        rowsRead += rows;
+        imported += importedRows;
+        rejected += rowErrors.size();
+        errors.addAll(keptErrors(rowErrors));
+        checkpointLine = lastLine;
+    }
+
+    /**
+     * The part of a chunk's row errors that still fits under app.import.max-errors
+     */
+    List<RowError> keptErrors(List<RowError> rowErrors) {
+        int room = Math.max(0, maxErrors - errors.size());
+        return rowErrors.size() <= room ? rowErrors : rowErrors.subList(0, room);
+    }
+
+    void completed() {
+        status = Status.COMPLETED;
+        finishedAt = Instant.now();
+    }
+
+    void failed(String reason) {
+        status = Status.FAILED;
+        failure = reason;
+        finishedAt = Instant.now();
+    }
+
+    public void requeued() {
+        status = Status.QUEUED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public UserImportFormat getFormat() {
+        return format;
+    }
+
+    @JsonIgnore
+    public Path getSpoolFile() {
+        return spoolFile;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Rows up to this line are committed (or rejected); a resume continues after it
+     */
+    public long getCheckpointLine() {
+        return checkpointLine;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * The first rejected rows, at most app.import.max-errors of them
+     */
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,80 @@
+package com.base.ddd.user.application.imports;
+
+import com.base.configuration.property.ImportProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Import jobs, kept in the {@link UserImportJobStore} until app.import.retention after they finished
+ * Jobs this instance queued or runs are also held in memory, and their lease is renewed every minute;
+ * a job whose instance stopped (restart, deploy) stops being renewed and can be resumed anywhere
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserImportJobRegistry {
+
+    private final ImportProperties properties;
+    private final UserImportJobStore store;
+    private final Map<String, UserImportJob> localJobs = new ConcurrentHashMap<>();
+
+    public UserImportJob register(UserImportJob job) {
+        store.insert(job);
+        localJobs.put(job.getId(), job);
+        return job;
+    }
+
+    /**
+     * The live job when this instance runs it, its stored state otherwise
+     */
+    public Optional<UserImportJob> find(String id) {
+        UserImportJob job = localJobs.get(id);
+        return job != null ? Optional.of(job) : store.find(id);
+    }
+
+    /**
+     * Take over a failed or interrupted job for this instance; false when it cannot be resumed now
+     */
+    public boolean claim(UserImportJob job) {
+        if (!store.claim(job.getId(), Instant.now().minus(properties.getStaleAfter()))) {
+            return false;
+        }
+        job.requeued();
+        localJobs.put(job.getId(), job);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "PT1M")
+    public void heartbeat() {
+        localJobs.values().removeIf(UserImportJob::isFinished);
+        try {
+            store.heartbeat(localJobs.keySet());
+        } catch (RuntimeException e) {
+            log.warn("Could not renew the import job lease: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Forget expired jobs and delete the uploads they kept for a resume
+     */
+    @Scheduled(fixedDelayString = "PT10M")
+    public void purge() {
+        for (Path spoolFile : store.deleteFinishedBefore(Instant.now().minus(properties.getRetention()))) {
+            try {
+                Files.deleteIfExists(spoolFile);
+            } catch (IOException e) {
+                log.warn("Could not delete import spool file {}: {}", spoolFile, e.getMessage());
+            }
+        }
+    }
+}
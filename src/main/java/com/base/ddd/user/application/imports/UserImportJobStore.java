@@ -0,0 +1,47 @@
+package com.base.ddd.user.application.imports;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable import job state: the checkpoint, the counters and the kept row errors
+ * A job found here after a restart or on another instance can be resumed from its checkpoint
+ */
+public interface UserImportJobStore {
+
+    void insert(UserImportJob job);
+
+    /**
+     * Status, timestamps and failure of the job as they are in memory
+     */
+    void saveStatus(UserImportJob job);
+
+    /**
+     * Advance the checkpoint and counters by one chunk and add its kept row errors
+     * Must run in the chunk's transaction, so the checkpoint commits with the inserted users
+     */
+    void chunkCommitted(String jobId, long checkpointLine, int rows, int imported, int rejected,
+                        List<UserImportJob.RowError> keptErrors);
+
+    Optional<UserImportJob> find(String id);
+
+    /**
+     * Mark the job queued again if it failed, or if it is queued/running without progress since staleBefore
+     * (its instance stopped); false when it is finished or another instance still runs it
+     */
+    boolean claim(String id, Instant staleBefore);
+
+    /**
+     * Renew the lease of jobs this instance has queued or running
+     */
+    void heartbeat(Collection<String> ids);
+
+    /**
+     * Delete jobs finished before the given time
+     * @return the spool files of the deleted jobs
+     */
+    List<Path> deleteFinishedBefore(Instant finishedBefore);
+}
@@ -0,0 +1,239 @@
+package com.base.ddd.user.application.imports;
+
+import com.base.configuration.property.ImportProperties;
+import com.base.ddd.user.application.dto.CreateUserCommand;
+import com.base.ddd.user.domain.model.Email;
+import com.base.ddd.user.domain.model.Password;
+import com.base.ddd.user.domain.model.User;
+import com.base.ddd.user.domain.model.Username;
+import com.base.ddd.user.domain.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs an import job chunk by chunk:
+ * parse, validate the value objects, check uniqueness with one IN query per key,
+ * hash passwords on the bounded hash pool and insert the chunk as one JDBC batch in its own transaction,
+ * together with the job's new checkpoint in the {@link UserImportJobStore}
+ */
+@Slf4j
+@Component
+public class UserImportProcessor {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final ImportProperties properties;
+    private final AsyncTaskExecutor hashExecutor;
+    private final UserImportJobStore jobStore;
+    private final TransactionTemplate chunkTransaction;
+
+    public UserImportProcessor(UserRepository userRepository,
+                               PasswordEncoder passwordEncoder,
+                               ObjectMapper objectMapper,
+                               ImportProperties properties,
+                               @Qualifier("passwordHashExecutor") AsyncTaskExecutor hashExecutor,
+                               UserImportJobStore jobStore,
+                               PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.hashExecutor = hashExecutor;
+        this.jobStore = jobStore;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Process the spooled upload from the job's checkpoint to the end
+     */
+    public void run(UserImportJob job) {
+        log.info("Import {} started from line {}", job.getId(), job.getCheckpointLine() + 1);
+
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        try {
+            job.started();
+            jobStore.saveStatus(job);
+        } catch (RuntimeException e) {
+            // Left queued in the store; resumable once its lease expires
+            job.failed(e.getMessage());
+            log.error("Import {} could not be started", job.getId(), e);
+            return;
+        }
+        try (UserImportReader reader = UserImportReader.open(job.getFormat(),
+                Files.newBufferedReader(job.getSpoolFile()), objectMapper)) {
+            List<UserImportRow> chunk = new ArrayList<>(chunkSize);
+            UserImportRow row;
+            while ((row = reader.next()) != null) {
+                // Committed before the job was resumed
+                if (row.line() <= job.getCheckpointLine()) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    processChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(job, chunk);
+            }
+
+            job.completed();
+            jobStore.saveStatus(job);
+            Files.deleteIfExists(job.getSpoolFile());
+            log.info("Import {} completed: {} imported, {} rejected", job.getId(), job.getImported(), job.getRejected());
+        } catch (IOException | RuntimeException e) {
+            job.failed(e.getMessage());
+            log.error("Import {} failed after line {}, it can be resumed", job.getId(), job.getCheckpointLine(), e);
+            try {
+                jobStore.saveStatus(job);
+            } catch (RuntimeException saveFailure) {
+                log.warn("Could not store the failure of import {}: {}", job.getId(), saveFailure.getMessage());
+            }
+        }
+    }
+
+    private void processChunk(UserImportJob job, List<UserImportRow> rows) {
+        List<UserImportJob.RowError> errors = new ArrayList<>();
+
+        // 1. Value objects, and duplicates within the chunk
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (UserImportRow row : rows) {
+            if (row.error() != null) {
+                errors.add(new UserImportJob.RowError(row.line(), row.error()));
+                continue;
+            }
+            CreateUserCommand command = row.command();
+            try {
+                Username username = Username.of(command.getUsername());
+                Email email = Email.of(command.getEmail());
+                Password.validatePlainPassword(command.getPassword());
+
+                if (!usernames.add(username.getValue().toLowerCase(Locale.ROOT))) {
+                    errors.add(new UserImportJob.RowError(row.line(), "Duplicate username in file: " + username.getValue()));
+                } else if (!emails.add(email.getValue())) {
+                    errors.add(new UserImportJob.RowError(row.line(), "Duplicate email in file: " + email.getValue()));
+                } else {
+                    candidates.add(new Candidate(row.line(), command, username, email));
+                }
+            } catch (IllegalArgumentException e) {
+                errors.add(new UserImportJob.RowError(row.line(), e.getMessage()));
+            }
+        }
+
+        // 2. Uniqueness against the existing unique keys, one IN query each
+        Set<String> takenUsernames = userRepository.findExistingUsernames(candidates.stream().map(Candidate::username).toList());
+        Set<String> takenEmails = userRepository.findExistingEmails(candidates.stream().map(Candidate::email).toList());
+        candidates.removeIf(candidate -> {
+            if (takenUsernames.contains(candidate.username().getValue().toLowerCase(Locale.ROOT))) {
+                errors.add(new UserImportJob.RowError(candidate.line(), "Username already exists: " + candidate.username().getValue()));
+                return true;
+            }
+            if (takenEmails.contains(candidate.email().getValue())) {
+                errors.add(new UserImportJob.RowError(candidate.line(), "Email already exists: " + candidate.email().getValue()));
+                return true;
+            }
+            return false;
+        });
+
+        // 3. BCrypt in parallel on the bounded pool
+        List<CompletableFuture<String>> hashes = candidates.stream()
+                .map(candidate -> CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(candidate.command().getPassword()), hashExecutor))
+                .toList();
+        List<Hashed> hashed = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            hashed.add(new Hashed(candidates.get(i), Password.fromHash(hashes.get(i).join())));
+        }
+
+        // 4. One batched insert, committed with the checkpoint; on a conflict (a concurrent insert) fall back to row by row
+        long lastLine = rows.get(rows.size() - 1).line();
+        List<Built> users = build(hashed, errors);
+        try {
+            commit(job, lastLine, rows.size(), users, users.size(), errors);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Import {} chunk hit a unique key, inserting row by row", job.getId());
+            int imported = 0;
+            for (Built user : users) {
+                try {
+                    chunkTransaction.executeWithoutResult(status -> userRepository.saveAll(List.of(user.user())));
+                    imported++;
+                } catch (DataIntegrityViolationException conflict) {
+                    errors.add(new UserImportJob.RowError(user.line(), "Username or email already exists"));
+                }
+            }
+            // Rows inserted here are not covered by the checkpoint until it commits; a resume rejects them as existing
+            commit(job, lastLine, rows.size(), List.of(), imported, errors);
+        }
+    }
+
+    /**
+     * Build the aggregates; rows the domain rejects go to the errors
+     */
+    private List<Built> build(List<Hashed> rows, List<UserImportJob.RowError> errors) {
+        List<Built> users = new ArrayList<>(rows.size());
+        for (Hashed row : rows) {
+            CreateUserCommand command = row.candidate().command();
+            try {
+                users.add(new Built(row.candidate().line(), User.create(
+                        userRepository.nextId(),
+                        row.candidate().username(),
+                        row.candidate().email(),
+                        row.password(),
+                        command.getFullName(),
+                        command.getPhoneNumber(),
+                        command.getAge(),
+                        command.getAddress())));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                errors.add(new UserImportJob.RowError(row.candidate().line(), e.getMessage()));
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Save the given users and advance the stored checkpoint in one transaction
+     */
+    private void commit(UserImportJob job, long lastLine, int rows, List<Built> users, int imported,
+                        List<UserImportJob.RowError> errors) {
+        errors.sort((a, b) -> Long.compare(a.line(), b.line()));
+        List<UserImportJob.RowError> kept = job.keptErrors(errors);
+        chunkTransaction.executeWithoutResult(status -> {
+            if (!users.isEmpty()) {
+                userRepository.saveAll(users.stream().map(Built::user).toList());
+            }
+            jobStore.chunkCommitted(job.getId(), lastLine, rows, imported, errors.size(), kept);
+        });
+        job.chunkCommitted(lastLine, rows, imported, errors);
+    }
+
+    private record Candidate(long line, CreateUserCommand command, Username username, Email email) {
+    }
+
+    private record Hashed(Candidate candidate, Password password) {
+    }
+
+    private record Built(long line, User user) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.base.ddd.user.application.imports;
+
+import com.base.ddd.shared.exception.ValidationException;
+import com.base.ddd.user.application.dto.CreateUserCommand;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming row reader, one row in memory at a time
+ */
+public interface UserImportReader extends Closeable {
+
+    /**
+     * Next row, null at the end of the input
+     */
+    UserImportRow next() throws IOException;
+
+    /**
+     * Open a reader; a CSV header is read right away and must name the required columns
+     */
+    static UserImportReader open(UserImportFormat format, BufferedReader in, ObjectMapper objectMapper)
+            throws IOException {
+        return switch (format) {
+            case NDJSON -> new Ndjson(in, objectMapper);
+            case CSV -> new Csv(in);
+        };
+    }
+
+    /**
+     * One JSON object per line, properties named like {@link CreateUserCommand}
+     */
+    final class Ndjson implements UserImportReader {
+
+        private final BufferedReader in;
+        private final ObjectMapper objectMapper;
+        private long line;
+
+        private Ndjson(BufferedReader in, ObjectMapper objectMapper) {
+            this.in = in;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public UserImportRow next() throws IOException {
+            String text;
+            while ((text = in.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return UserImportRow.parsed(line, objectMapper.readValue(text, CreateUserCommand.class));
+                } catch (JsonProcessingException e) {
+                    return UserImportRow.failed(line, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row; quoted values may contain commas, quotes ("") and line breaks
+     */
+    final class Csv implements UserImportReader {
+
+        private static final Set<String> REQUIRED = Set.of("username", "email", "password");
+
+        private final BufferedReader in;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long line;
+
+        private Csv(BufferedReader in) throws IOException {
+            this.in = in;
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new ValidationException("The CSV file is empty");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim(), i);
+            }
+            for (String column : REQUIRED) {
+                if (!columns.containsKey(column)) {
+                    throw new ValidationException("Missing CSV column: " + column);
+                }
+            }
+        }
+
+        @Override
+        public UserImportRow next() throws IOException {
+            List<String> values;
+            long start;
+            do {
+                start = line + 1;
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+
+            try {
+                String age = value(values, "age");
+                return UserImportRow.parsed(start, CreateUserCommand.builder()
+                        .username(value(values, "username"))
+                        .email(value(values, "email"))
+                        .password(value(values, "password"))
+                        .fullName(value(values, "fullName"))
+                        .phoneNumber(value(values, "phoneNumber"))
+                        .age(age != null ? Integer.valueOf(age.trim()) : null)
+                        .address(value(values, "address"))
+                        .build());
+            } catch (NumberFormatException e) {
+                return UserImportRow.failed(start, "Invalid age: " + value(values, "age"));
+            }
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index);
+            return value.isEmpty() ? null : value;
+        }
+
+        /**
+         * Values of the next record, null at the end of the input
+         */
+        private List<String> readRecord() throws IOException {
+            String text = in.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // Line break inside a quoted value
+                    String more = in.readLine();
+                    if (more == null) {
+                        break;
+                    }
+                    line++;
+                    value.append('\n');
+                    text = more;
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < text.length() && text.charAt(i) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            values.add(value.toString());
+            return values;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.base.ddd.user.application.imports;
+
+import com.base.ddd.user.application.dto.CreateUserCommand;
+
+/**
+ * One parsed input row
+ *
+ * @param line    line the row starts on (1-based)
+ * @param command parsed values, null when the row could not be parsed
+ * @param error   parse error, null for a parsed row
+ */
+public record UserImportRow(long line, CreateUserCommand command, String error) {
+
+    static UserImportRow parsed(long line, CreateUserCommand command) {
+        return new UserImportRow(line, command, null);
+    }
+
+    static UserImportRow failed(long line, String error) {
+        return new UserImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,94 @@
+package com.base.ddd.user.application.usecase;
+
+import com.base.configuration.property.BulkProperties;
+import com.base.ddd.shared.exception.ValidationException;
+import com.base.ddd.shared.infrastructure.DomainEventDispatcher;
+import com.base.ddd.user.application.dto.BulkStatusChangeResult;
+import com.base.ddd.user.domain.event.UserStatusChangedEvent;
+import com.base.ddd.user.domain.model.UserId;
+import com.base.ddd.user.domain.model.UserStatus;
+import com.base.ddd.user.domain.service.UserDomainService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Bulk Change User Status Use Case
+ * Set-based and chunked: every chunk is one locked SELECT plus one UPDATE in its own short
+ * transaction, so no aggregate is loaded and no lock is held for the whole run
+ */
+@Slf4j
+@Service
+public class BulkChangeUserStatusUseCase {
+
+    private final UserDomainService userDomainService;
+    private final DomainEventDispatcher eventDispatcher;
+    private final BulkProperties properties;
+    private final TransactionTemplate chunkTransaction;
+
+    public BulkChangeUserStatusUseCase(UserDomainService userDomainService,
+                                       DomainEventDispatcher eventDispatcher,
+                                       BulkProperties properties,
+                                       PlatformTransactionManager transactionManager) {
+        this.userDomainService = userDomainService;
+        this.eventDispatcher = eventDispatcher;
+        this.properties = properties;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public BulkStatusChangeResult execute(List<Long> ids, UserStatus newStatus) {
+        return execute(ids, newStatus, progress -> { });
+    }
+
+    /**
+     * @param progress called after every committed chunk with the running totals
+     */
+    public BulkStatusChangeResult execute(List<Long> ids, UserStatus newStatus,
+                                          Consumer<BulkStatusChangeResult> progress) {
+        if (newStatus == null) {
+            throw new ValidationException("Status is required");
+        }
+        if (ids == null || ids.isEmpty()) {
+            throw new ValidationException("At least one user id is required");
+        }
+
+        List<UserId> userIds;
+        try {
+            userIds = ids.stream().filter(Objects::nonNull).distinct().map(UserId::of).toList();
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(e.getMessage());
+        }
+
+        log.info("Bulk changing status of {} users to {}", userIds.size(), newStatus);
+
+        int chunkSize = properties.getChunkSize();
+        BulkStatusChangeResult result = new BulkStatusChangeResult(userIds.size(), 0, 0);
+
+        for (int from = 0; from < userIds.size(); from += chunkSize) {
+            List<UserId> chunk = userIds.subList(from, Math.min(from + chunkSize, userIds.size()));
+            // Events go out once the chunk commits (or into the outbox with it)
+            List<UserStatusChangedEvent> events = chunkTransaction.execute(status -> {
+                List<UserStatusChangedEvent> changed = userDomainService.changeStatusInBulk(chunk, newStatus);
+                eventDispatcher.dispatch(changed);
+                return changed;
+            });
+
+            result.setProcessed(result.getProcessed() + chunk.size());
+            result.setChanged(result.getChanged() + events.size());
+            progress.accept(new BulkStatusChangeResult(result.getTotal(), result.getProcessed(), result.getChanged()));
+            log.debug("Bulk status change to {}: {}/{} processed, {} changed",
+                    newStatus, result.getProcessed(), result.getTotal(), result.getChanged());
+        }
+
+        log.info("Bulk status change to {} done: {} changed, {} skipped",
+                newStatus, result.getChanged(), result.getSkipped());
+        return result;
+    }
+}
@@ -9,6 +9,7 @@ import com.base.ddd.user.domain.model.UserId;
 import com.base.ddd.user.domain.model.UserStatus;
 import com.base.ddd.user.domain.repository.UserRepository;
 import com.base.ddd.user.domain.service.UserDomainService;
+import com.base.shared.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,7 @@ public class ChangeUserStatusUseCase {
     private final UserDomainService userDomainService;
     private final UserApplicationMapper mapper;
 
+    @RetryOnConflict
     @Transactional
     public UserDTO execute(Long id, UserStatus newStatus) {
         log.info("Changing status for user {} to {}", id, newStatus);
@@ -49,6 +49,7 @@ public class CreateUserUseCase {
 
             // 4. Create aggregate
             User user = User.create(
+                    userRepository.nextId(),
                     username,
                     email,
                     password,
@@ -58,15 +59,12 @@ public class CreateUserUseCase {
                     command.getAddress()
             );
 
-            // 5. Persist
+            // 5. Persist (domain events are published by the repository after commit)
             User savedUser = userRepository.save(user);
 
-            // 6. Publish domain events (if using event publisher)
-            // eventPublisher.publish(savedUser.getDomainEvents());
-
             log.info("User created successfully with id: {}", savedUser.getId());
 
-            // 7. Return DTO
+            // 6. Return DTO
             return mapper.toDTO(savedUser);
 
         } catch (IllegalArgumentException e) {
@@ -0,0 +1,66 @@
+package com.base.ddd.user.application.usecase;
+
+import com.base.configuration.property.ExportProperties;
+import com.base.ddd.user.application.dto.UserQuery;
+import com.base.ddd.user.application.export.UserExportColumns;
+import com.base.ddd.user.application.export.UserExportFormat;
+import com.base.ddd.user.application.export.UserExportWriter;
+import com.base.ddd.user.infrastructure.query.UserQueryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Export Users Use Case
+ * Streams every user matching a {@link UserQuery} as NDJSON or CSV with constant memory
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportUsersUseCase {
+
+    private final UserQueryService userQueryService;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties exportProperties;
+
+    /**
+     * Validate the request before the response is committed, errors can still become a 400 here
+     */
+    public void validate(UserQuery query) {
+        UserExportColumns.resolve(query.getFields());
+    }
+
+    @Transactional(readOnly = true)
+    public long execute(UserQuery query, UserExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting users as {}", format);
+
+        List<String> columns = UserExportColumns.resolve(query.getFields());
+        int flushEvery = Math.max(1, exportProperties.getFlushEvery());
+
+        try (UserExportWriter writer = UserExportWriter.open(format, columns, objectMapper, out)) {
+            long[] written = {0};
+            long rows = userQueryService.export(query, row -> {
+                try {
+                    writer.write(row);
+                    if (++written[0] % flushEvery == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Exported {} users", rows);
+            return rows;
+        } catch (UncheckedIOException e) {
+            // Usually the client went away, stop reading from the cursor
+            throw e.getCause();
+        }
+    }
+}
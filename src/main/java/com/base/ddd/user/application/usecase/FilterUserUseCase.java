@@ -22,7 +22,7 @@ public class FilterUserUseCase {
 
     @Transactional(readOnly = true)
     public PageResponse<UserDTO> execute(UserQuery query) {
-        log.info("Filtering users with query: {}", query);
+        log.debug("Filtering users with query: {}", query);
         return userQueryService.filter(query);
     }
 }
\ No newline at end of file
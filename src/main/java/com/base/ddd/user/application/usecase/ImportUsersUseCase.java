@@ -0,0 +1,127 @@
+package com.base.ddd.user.application.usecase;
+
+import com.base.configuration.property.ImportProperties;
+import com.base.ddd.shared.exception.NotFoundException;
+import com.base.ddd.shared.exception.ValidationException;
+import com.base.ddd.user.application.imports.UserImportFormat;
+import com.base.ddd.user.application.imports.UserImportJob;
+import com.base.ddd.user.application.imports.UserImportJobRegistry;
+import com.base.ddd.user.application.imports.UserImportProcessor;
+import com.base.ddd.user.application.imports.UserImportReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * Import Users Use Case
+ * The upload is spooled to disk and imported in the background, chunk by chunk;
+ * a failed job, or one whose instance stopped (restart, deploy), resumes from its last committed chunk
+ */
+@Slf4j
+@Service
+public class ImportUsersUseCase {
+
+    private final UserImportJobRegistry registry;
+    private final UserImportProcessor processor;
+    private final ImportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor importExecutor;
+
+    public ImportUsersUseCase(UserImportJobRegistry registry,
+                              UserImportProcessor processor,
+                              ImportProperties properties,
+                              ObjectMapper objectMapper,
+                              @Qualifier("importExecutor") AsyncTaskExecutor importExecutor) {
+        this.registry = registry;
+        this.processor = processor;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.importExecutor = importExecutor;
+    }
+
+    /**
+     * Spool the upload and queue its import
+     */
+    public UserImportJob start(InputStream content, UserImportFormat format) {
+        String id = UUID.randomUUID().toString();
+        Path spoolFile = spool(id, content, format);
+
+        // Reject an unreadable upload (e.g. a CSV without the required columns) right away
+        try (UserImportReader reader = UserImportReader.open(format, Files.newBufferedReader(spoolFile), objectMapper)) {
+            log.debug("Import {} spooled to {}", id, spoolFile);
+        } catch (ValidationException e) {
+            deleteQuietly(spoolFile);
+            throw e;
+        } catch (IOException e) {
+            deleteQuietly(spoolFile);
+            throw new UncheckedIOException(e);
+        }
+
+        UserImportJob job = registry.register(new UserImportJob(id, format, spoolFile, properties.getMaxErrors()));
+        submit(job);
+        log.info("Import {} queued ({})", id, format);
+        return job;
+    }
+
+    /**
+     * Run a failed or interrupted job again from its checkpoint
+     */
+    public UserImportJob resume(String id) {
+        UserImportJob job = get(id);
+        if (job.getStatus() == UserImportJob.Status.COMPLETED) {
+            throw new ValidationException("Import " + id + " is already completed");
+        }
+        if (!Files.exists(job.getSpoolFile())) {
+            throw new ValidationException("The upload of import " + id + " is no longer available");
+        }
+        if (!registry.claim(job)) {
+            throw new ValidationException("Only a failed or interrupted import can be resumed, import " + id +
+                    " is still " + job.getStatus() + " on a running instance");
+        }
+
+        submit(job);
+        log.info("Import {} resumed after line {}", id, job.getCheckpointLine());
+        return job;
+    }
+
+    public UserImportJob get(String id) {
+        return registry.find(id)
+                .orElseThrow(() -> new NotFoundException("Import not found: " + id));
+    }
+
+    private void submit(UserImportJob job) {
+        // The audit columns are filled from the caller's security context
+        importExecutor.execute(new DelegatingSecurityContextRunnable(() -> processor.run(job)));
+    }
+
+    private Path spool(String id, InputStream content, UserImportFormat format) {
+        try {
+            Path dir = Files.createDirectories(Paths.get(properties.getSpoolDir()));
+            Path file = dir.resolve(id + "." + format.getExtension());
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spool the import upload", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import spool {}", file, e);
+        }
+    }
+}
@@ -27,7 +27,8 @@ public class RestoreUserUseCase {
         log.info("Restoring user with id: {}", id);
 
         UserId userId = UserId.of(id);
-        User user = userRepository.findById(userId)
+        // Deleted users are invisible to findById; archived ones are moved back on save
+        User user = userRepository.findByIdIncludingDeleted(userId)
                 .orElseThrow(() -> new NotFoundException("User not found: " + id));
 
         user.restore();
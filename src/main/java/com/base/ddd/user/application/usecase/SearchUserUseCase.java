@@ -22,7 +22,7 @@ public class SearchUserUseCase {
 
     @Transactional(readOnly = true)
     public PageResponse<UserDTO> execute(SearchRequest searchRequest) {
-        log.info("Searching users with request: {}", searchRequest);
+        log.debug("Searching users with request: {}", searchRequest);
         return userQueryService.search(searchRequest);
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.base.ddd.shared.exception.NotFoundException;
 import com.base.ddd.user.domain.model.User;
 import com.base.ddd.user.domain.model.UserId;
 import com.base.ddd.user.domain.repository.UserRepository;
+import com.base.shared.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,6 +20,7 @@ public class UpdateAvatarUseCase {
 
     private final UserRepository userRepository;
 
+    @RetryOnConflict
     @Transactional
     public void execute(Long id, String avatarUrl) {
         log.info("Updating avatar for user: {}", id);
@@ -11,6 +11,7 @@ import com.base.ddd.user.domain.model.UserId;
 import com.base.ddd.user.domain.model.UserStatus;
 import com.base.ddd.user.domain.repository.UserRepository;
 import com.base.ddd.user.domain.service.UserDomainService;
+import com.base.shared.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -28,6 +29,7 @@ public class UpdateUserUseCase {
     private final UserDomainService userDomainService;
     private final UserApplicationMapper mapper;
 
+    @RetryOnConflict
     @Transactional
     public UserDTO execute(Long id, UpdateUserCommand command) {
         log.info("Updating user with id: {}", id);
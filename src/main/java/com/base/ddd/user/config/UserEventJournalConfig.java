@@ -0,0 +1,106 @@
+package com.base.ddd.user.config;
+
+import com.base.ddd.shared.infrastructure.journal.JournalEventFormat;
+import com.base.ddd.user.domain.event.AvatarUpdatedEvent;
+import com.base.ddd.user.domain.event.PasswordChangedEvent;
+import com.base.ddd.user.domain.event.UserCreatedEvent;
+import com.base.ddd.user.domain.event.UserDeletedEvent;
+import com.base.ddd.user.domain.event.UserRestoredEvent;
+import com.base.ddd.user.domain.event.UserStatusChangedEvent;
+import com.base.ddd.user.domain.event.UserUpdatedEvent;
+import com.base.ddd.user.domain.model.UserId;
+import com.base.ddd.user.domain.model.UserStatus;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.base.ddd.shared.infrastructure.journal.JournalEventFormat.readNullable;
+import static com.base.ddd.shared.infrastructure.journal.JournalEventFormat.writeNullable;
+
+/**
+ * Journal layouts of the user events (version 1 each)
+ * A changed layout gets the next version; the readers keep handling the older ones
+ */
+@Configuration
+public class UserEventJournalConfig {
+
+    @Bean
+    public JournalEventFormat<UserCreatedEvent> userCreatedJournalFormat() {
+        return JournalEventFormat.of(UserCreatedEvent.class, "user.created", 1,
+                (event, out) -> {
+                    out.writeLong(event.getUserId().getValue());
+                    out.writeUTF(event.getUsername());
+                    out.writeUTF(event.getEmail());
+                    writeNullable(out, event.getStatus());
+                },
+                (version, header, in) -> new UserCreatedEvent(header.eventId(), header.occurredOn(),
+                        UserId.reconstitute(in.readLong()), in.readUTF(), in.readUTF(),
+                        readNullable(in, UserStatus.class)));
+    }
+
+    @Bean
+    public JournalEventFormat<UserUpdatedEvent> userUpdatedJournalFormat() {
+        return JournalEventFormat.of(UserUpdatedEvent.class, "user.updated", 1,
+                (event, out) -> {
+                    out.writeLong(event.getUserId().getValue());
+                    out.writeUTF(event.getEmail());
+                    writeNullable(out, event.getFullName());
+                },
+                (version, header, in) -> new UserUpdatedEvent(header.eventId(), header.occurredOn(),
+                        UserId.reconstitute(in.readLong()), in.readUTF(), readNullable(in)));
+    }
+
+    @Bean
+    public JournalEventFormat<AvatarUpdatedEvent> avatarUpdatedJournalFormat() {
+        return JournalEventFormat.of(AvatarUpdatedEvent.class, "user.avatar.updated", 1,
+                (event, out) -> {
+                    out.writeLong(event.getUserId().getValue());
+                    writeNullable(out, event.getAvatarUrl());
+                },
+                (version, header, in) -> new AvatarUpdatedEvent(header.eventId(), header.occurredOn(),
+                        UserId.reconstitute(in.readLong()), readNullable(in)));
+    }
+
+    @Bean
+    public JournalEventFormat<PasswordChangedEvent> passwordChangedJournalFormat() {
+        return JournalEventFormat.of(PasswordChangedEvent.class, "user.password.changed", 1,
+                (event, out) -> out.writeLong(event.getUserId().getValue()),
+                (version, header, in) -> new PasswordChangedEvent(header.eventId(), header.occurredOn(),
+                        UserId.reconstitute(in.readLong())));
+    }
+
+    @Bean
+    public JournalEventFormat<UserStatusChangedEvent> userStatusChangedJournalFormat() {
+        return JournalEventFormat.of(UserStatusChangedEvent.class, "user.status.changed", 1,
+                (event, out) -> {
+                    out.writeLong(event.getUserId().getValue());
+                    writeNullable(out, event.getOldStatus());
+                    writeNullable(out, event.getNewStatus());
+                },
+                (version, header, in) -> new UserStatusChangedEvent(header.eventId(), header.occurredOn(),
+                        UserId.reconstitute(in.readLong()), readNullable(in, UserStatus.class),
+                        readNullable(in, UserStatus.class)));
+    }
+
+    @Bean
+    public JournalEventFormat<UserDeletedEvent> userDeletedJournalFormat() {
+        return JournalEventFormat.of(UserDeletedEvent.class, "user.deleted", 1,
+                (event, out) -> {
+                    out.writeLong(event.getUserId().getValue());
+                    writeNullable(out, event.getStatus());
+                },
+                (version, header, in) -> new UserDeletedEvent(header.eventId(), header.occurredOn(),
+                        UserId.reconstitute(in.readLong()), readNullable(in, UserStatus.class)));
+    }
+
+    @Bean
+    public JournalEventFormat<UserRestoredEvent> userRestoredJournalFormat() {
+        return JournalEventFormat.of(UserRestoredEvent.class, "user.restored", 1,
+                (event, out) -> {
+                    out.writeLong(event.getUserId().getValue());
+                    writeNullable(out, event.getUsername());
+                    writeNullable(out, event.getStatus());
+                },
+                (version, header, in) -> new UserRestoredEvent(header.eventId(), header.occurredOn(),
+                        UserId.reconstitute(in.readLong()), readNullable(in), readNullable(in, UserStatus.class)));
+    }
+}
@@ -28,8 +28,8 @@ public class UserModuleConfig {
     public UserEventSubscribers userEventSubscribers(DomainEventPublisher eventPublisher) {
         UserEventSubscribers subscribers = new UserEventSubscribers();
 
-        // Subscribe to UserCreatedEvent
-        eventPublisher.subscribe(UserCreatedEvent.class, subscribers::handleUserCreated);
+        // Subscribe to UserCreatedEvent (slow side effects: off the request thread, see RingBufferEventBus)
+        eventPublisher.subscribeAsync(UserCreatedEvent.class, subscribers::handleUserCreated);
 
         // Subscribe to other events as needed
         // eventPublisher.subscribe(UserUpdatedEvent.class, subscribers::handleUserUpdated);
@@ -3,11 +3,15 @@ package com.base.ddd.user.domain.event;
 import com.base.ddd.shared.domain.DomainEvent;
 import com.base.ddd.user.domain.model.UserId;
 
+import java.time.LocalDateTime;
+
 /**
  * Avatar Updated Event
  */
 public class AvatarUpdatedEvent extends DomainEvent {
 
+    private static final long serialVersionUID = 1L;
+
     private final UserId userId;
     private final String avatarUrl;
 
@@ -17,11 +21,25 @@ public class AvatarUpdatedEvent extends DomainEvent {
         this.avatarUrl = avatarUrl;
     }
 
+    /**
+     * Restore a stored event
+     */
+    public AvatarUpdatedEvent(String eventId, LocalDateTime occurredOn, UserId userId, String avatarUrl) {
+        super(eventId, occurredOn);
+        this.userId = userId;
+        this.avatarUrl = avatarUrl;
+    }
+
     @Override
     public String getEventType() {
         return "user.avatar.updated";
     }
 
+    @Override
+    public Object getAggregateId() {
+        return userId;
+    }
+
     public UserId getUserId() {
         return userId;
     }
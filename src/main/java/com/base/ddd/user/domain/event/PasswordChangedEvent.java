@@ -3,11 +3,15 @@ package com.base.ddd.user.domain.event;
 import com.base.ddd.shared.domain.DomainEvent;
 import com.base.ddd.user.domain.model.UserId;
 
+import java.time.LocalDateTime;
+
 /**
  * Password Changed Event
  */
 public class PasswordChangedEvent extends DomainEvent {
 
+    private static final long serialVersionUID = 1L;
+
     private final UserId userId;
 
     public PasswordChangedEvent(UserId userId) {
@@ -15,11 +19,24 @@ public class PasswordChangedEvent extends DomainEvent {
         this.userId = userId;
     }
 
+    /**
+     * Restore a stored event
+     */
+    public PasswordChangedEvent(String eventId, LocalDateTime occurredOn, UserId userId) {
+        super(eventId, occurredOn);
+        this.userId = userId;
+    }
+
     @Override
     public String getEventType() {
         return "user.password.changed";
     }
 
+    @Override
+    public Object getAggregateId() {
+        return userId;
+    }
+
     public UserId getUserId() {
         return userId;
     }
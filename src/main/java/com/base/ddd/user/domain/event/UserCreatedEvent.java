@@ -3,21 +3,40 @@ package com.base.ddd.user.domain.event;
 import com.base.ddd.shared.domain.DomainEvent;
 import com.base.ddd.user.domain.model.User;
 import com.base.ddd.user.domain.model.UserId;
+import com.base.ddd.user.domain.model.UserStatus;
+
+import java.time.LocalDateTime;
 
 /**
  * User Created Event
  */
 public class UserCreatedEvent extends DomainEvent {
 
+    private static final long serialVersionUID = 1L;
+
     private final UserId userId;
     private final String username;
     private final String email;
+    private final UserStatus status;
 
     public UserCreatedEvent(User user) {
         super();
         this.userId = user.getId();
         this.username = user.getUsername().getValue();
         this.email = user.getEmail().getValue();
+        this.status = user.getStatus();
+    }
+
+    /**
+     * Restore a stored event
+     */
+    public UserCreatedEvent(String eventId, LocalDateTime occurredOn, UserId userId, String username, String email,
+                            UserStatus status) {
+        super(eventId, occurredOn);
+        this.userId = userId;
+        this.username = username;
+        this.email = email;
+        this.status = status;
     }
 
     @Override
@@ -25,6 +44,11 @@ public class UserCreatedEvent extends DomainEvent {
         return "user.created";
     }
 
+    @Override
+    public Object getAggregateId() {
+        return userId;
+    }
+
     public UserId getUserId() {
         return userId;
     }
@@ -36,4 +60,8 @@ public class UserCreatedEvent extends DomainEvent {
     public String getEmail() {
         return email;
     }
+
+    public UserStatus getStatus() {
+        return status;
+    }
 }
\ No newline at end of file
@@ -3,17 +3,33 @@ package com.base.ddd.user.domain.event;
 
 import com.base.ddd.shared.domain.DomainEvent;
 import com.base.ddd.user.domain.model.UserId;
+import com.base.ddd.user.domain.model.UserStatus;
+
+import java.time.LocalDateTime;
 
 /**
  * User Deleted Event
  */
 public class UserDeletedEvent extends DomainEvent {
 
+    private static final long serialVersionUID = 1L;
+
     private final UserId userId;
+    private final UserStatus status;
 
-    public UserDeletedEvent(UserId userId) {
+    public UserDeletedEvent(UserId userId, UserStatus status) {
         super();
         this.userId = userId;
+        this.status = status;
+    }
+
+    /**
+     * Restore a stored event
+     */
+    public UserDeletedEvent(String eventId, LocalDateTime occurredOn, UserId userId, UserStatus status) {
+        super(eventId, occurredOn);
+        this.userId = userId;
+        this.status = status;
     }
 
     @Override
@@ -21,7 +37,16 @@ public class UserDeletedEvent extends DomainEvent {
         return "user.deleted";
     }
 
+    @Override
+    public Object getAggregateId() {
+        return userId;
+    }
+
     public UserId getUserId() {
         return userId;
     }
+
+    public UserStatus getStatus() {
+        return status;
+    }
 }
@@ -2,19 +2,36 @@ package com.base.ddd.user.domain.event;
 
 import com.base.ddd.shared.domain.DomainEvent;
 import com.base.ddd.user.domain.model.UserId;
+import com.base.ddd.user.domain.model.UserStatus;
+
+import java.time.LocalDateTime;
 
 /**
  * User Restored Event
  */
 public class UserRestoredEvent extends DomainEvent {
 
+    private static final long serialVersionUID = 1L;
+
     private final UserId userId;
     private final String username;
+    private final UserStatus status;
 
-    public UserRestoredEvent(UserId userId, String username) {
+    public UserRestoredEvent(UserId userId, String username, UserStatus status) {
         super();
         this.userId = userId;
         this.username = username;
+        this.status = status;
+    }
+
+    /**
+     * Restore a stored event
+     */
+    public UserRestoredEvent(String eventId, LocalDateTime occurredOn, UserId userId, String username, UserStatus status) {
+        super(eventId, occurredOn);
+        this.userId = userId;
+        this.username = username;
+        this.status = status;
     }
 
     @Override
@@ -22,6 +39,11 @@ public class UserRestoredEvent extends DomainEvent {
         return "user.restored";
     }
 
+    @Override
+    public Object getAggregateId() {
+        return userId;
+    }
+
     public UserId getUserId() {
         return userId;
     }
@@ -29,4 +51,8 @@ public class UserRestoredEvent extends DomainEvent {
     public String getUsername() {
         return username;
     }
+
+    public UserStatus getStatus() {
+        return status;
+    }
 }
\ No newline at end of file
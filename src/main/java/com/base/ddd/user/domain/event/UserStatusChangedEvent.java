@@ -4,11 +4,15 @@ import com.base.ddd.shared.domain.DomainEvent;
 import com.base.ddd.user.domain.model.UserId;
 import com.base.ddd.user.domain.model.UserStatus;
 
+import java.time.LocalDateTime;
+
 /**
  * User Status Changed Event
  */
 public class UserStatusChangedEvent extends DomainEvent {
 
+    private static final long serialVersionUID = 1L;
+
     private final UserId userId;
     private final UserStatus oldStatus;
     private final UserStatus newStatus;
@@ -20,11 +24,26 @@ public class UserStatusChangedEvent extends DomainEvent {
         this.newStatus = newStatus;
     }
 
+    /**
+     * Restore a stored event
+     */
+    public UserStatusChangedEvent(String eventId, LocalDateTime occurredOn, UserId userId, UserStatus oldStatus, UserStatus newStatus) {
+        super(eventId, occurredOn);
+        this.userId = userId;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+    }
+
     @Override
     public String getEventType() {
         return "user.status.changed";
     }
 
+    @Override
+    public Object getAggregateId() {
+        return userId;
+    }
+
     public UserId getUserId() {
         return userId;
     }
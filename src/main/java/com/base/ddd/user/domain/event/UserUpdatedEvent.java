@@ -4,11 +4,15 @@ import com.base.ddd.shared.domain.DomainEvent;
 import com.base.ddd.user.domain.model.User;
 import com.base.ddd.user.domain.model.UserId;
 
+import java.time.LocalDateTime;
+
 /**
  * User Updated Event
  */
 public class UserUpdatedEvent extends DomainEvent {
 
+    private static final long serialVersionUID = 1L;
+
     private final UserId userId;
     private final String email;
     private final String fullName;
@@ -20,11 +24,26 @@ public class UserUpdatedEvent extends DomainEvent {
         this.fullName = user.getFullName();
     }
 
+    /**
+     * Restore a stored event
+     */
+    public UserUpdatedEvent(String eventId, LocalDateTime occurredOn, UserId userId, String email, String fullName) {
+        super(eventId, occurredOn);
+        this.userId = userId;
+        this.email = email;
+        this.fullName = fullName;
+    }
+
     @Override
     public String getEventType() {
         return "user.updated";
     }
 
+    @Override
+    public Object getAggregateId() {
+        return userId;
+    }
+
     public UserId getUserId() {
         return userId;
     }
@@ -16,6 +16,10 @@ public class Email implements ValueObject {
     private final String value;
 
     private Email(String value) {
+        this.value = value;
+    }
+
+    public static Email of(String value) {
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Email không được để trống");
         }
@@ -25,10 +29,13 @@ public class Email implements ValueObject {
         if (!EMAIL_PATTERN.matcher(value).matches()) {
             throw new IllegalArgumentException("Email không đúng định dạng");
         }
-        this.value = value.toLowerCase().trim();
+        return new Email(value.toLowerCase().trim());
     }
 
-    public static Email of(String value) {
+    /**
+     * Reconstruct from persistence: the value was validated and normalized by of() when stored
+     */
+    public static Email reconstitute(String value) {
         return new Email(value);
     }
 
@@ -3,12 +3,24 @@ package com.base.ddd.user.domain.model;
 import com.base.ddd.shared.domain.AggregateRoot;
 import com.base.ddd.user.domain.event.*;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
 /**
  * User Aggregate Root
  * Encapsulates all business logic related to User
  */
 public class User extends AggregateRoot<UserId> {
 
+    /**
+     * Mutable persistent fields, tracked so the repository only writes what changed
+     */
+    public enum Field {
+        EMAIL, PASSWORD, FULL_NAME, PHONE_NUMBER, STATUS, AGE, ADDRESS, AVATAR_URL, DELETED
+    }
+
     private Username username;
     private Email email;
     private Password password;
@@ -19,13 +31,17 @@ public class User extends AggregateRoot<UserId> {
     private String address;
     private String avatarUrl;
 
+    // Fields changed since the aggregate was created or loaded
+    private transient final Set<Field> changedFields = EnumSet.noneOf(Field.class);
+
     // Private constructor for reconstruction from DB
     private User() {
         super();
     }
 
-    // Factory method for creating new user
+    // Factory method for creating new user, the id comes from UserRepository.nextId()
     public static User create(
+            UserId id,
             Username username,
             Email email,
             Password password,
@@ -34,7 +50,12 @@ public class User extends AggregateRoot<UserId> {
             Integer age,
             String address) {
 
+        if (id == null) {
+            throw new IllegalArgumentException("UserId is required");
+        }
+
         User user = new User();
+        user.id = id;
         user.username = username;
         user.email = email;
         user.password = password;
@@ -91,6 +112,13 @@ public class User extends AggregateRoot<UserId> {
             String address,
             String avatarUrl) {
 
+        track(Field.EMAIL, this.email, email);
+        track(Field.FULL_NAME, this.fullName, fullName);
+        track(Field.PHONE_NUMBER, this.phoneNumber, phoneNumber);
+        track(Field.AGE, this.age, age);
+        track(Field.ADDRESS, this.address, address);
+        track(Field.AVATAR_URL, this.avatarUrl, avatarUrl);
+
         this.email = email;
         this.fullName = fullName;
         this.phoneNumber = phoneNumber;
@@ -108,6 +136,7 @@ public class User extends AggregateRoot<UserId> {
         if (newPassword == null) {
             throw new IllegalArgumentException("Password cannot be null");
         }
+        track(Field.PASSWORD, this.password, newPassword);
         this.password = newPassword;
         this.registerEvent(new PasswordChangedEvent(this.id));
     }
@@ -122,6 +151,7 @@ public class User extends AggregateRoot<UserId> {
 
         UserStatus oldStatus = this.status;
         this.status = newStatus;
+        changedFields.add(Field.STATUS);
         this.registerEvent(new UserStatusChangedEvent(this.id, oldStatus, newStatus));
     }
 
@@ -147,6 +177,7 @@ public class User extends AggregateRoot<UserId> {
     }
 
     public void updateAvatar(String avatarUrl) {
+        track(Field.AVATAR_URL, this.avatarUrl, avatarUrl);
         this.avatarUrl = avatarUrl;
         this.registerEvent(new AvatarUpdatedEvent(this.id, avatarUrl));
     }
@@ -154,13 +185,15 @@ public class User extends AggregateRoot<UserId> {
     @Override
     public void markAsDeleted() {
         super.markAsDeleted();
-        this.registerEvent(new UserDeletedEvent(this.id));
+        changedFields.add(Field.DELETED);
+        this.registerEvent(new UserDeletedEvent(this.id, this.status));
     }
 
     @Override
     public void restore() {
         super.restore();
-        this.registerEvent(new UserRestoredEvent(this.id, this.username.getValue()));
+        changedFields.add(Field.DELETED);
+        this.registerEvent(new UserRestoredEvent(this.id, this.username.getValue(), this.status));
     }
 
     @Override
@@ -179,6 +212,26 @@ public class User extends AggregateRoot<UserId> {
         }
     }
 
+    /**
+     * Fields changed since the aggregate was loaded; empty for a new aggregate, which is inserted whole
+     */
+    public Set<Field> getChangedFields() {
+        return Collections.unmodifiableSet(changedFields);
+    }
+
+    /**
+     * Called by the repository once the changes are written
+     */
+    public void clearChangedFields() {
+        changedFields.clear();
+    }
+
+    private void track(Field field, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            changedFields.add(field);
+        }
+    }
+
     // Query methods
     public boolean isActive() {
         return status == UserStatus.ACTIVE && !isDeleted();
@@ -2,23 +2,33 @@ package com.base.ddd.user.domain.model;
 
 import com.base.ddd.shared.domain.ValueObject;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 /**
  * UserId Value Object
  */
-public class UserId implements ValueObject {
+public class UserId implements ValueObject, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final Long value;
 
     private UserId(Long value) {
+        this.value = value;
+    }
+
+    public static UserId of(Long value) {
         if (value == null || value <= 0) {
             throw new IllegalArgumentException("UserId must be positive");
         }
-        this.value = value;
+        return new UserId(value);
     }
 
-    public static UserId of(Long value) {
+    /**
+     * Reconstruct from persistence: primary keys are always positive
+     */
+    public static UserId reconstitute(Long value) {
         return new UserId(value);
     }
 
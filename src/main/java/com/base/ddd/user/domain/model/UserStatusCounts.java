@@ -0,0 +1,61 @@
+package com.base.ddd.user.domain.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * User counts per status, split into live and soft-deleted users
+ */
+public final class UserStatusCounts {
+
+    private final Map<UserStatus, Long> live;
+    private final Map<UserStatus, Long> deleted;
+
+    private UserStatusCounts(Map<UserStatus, Long> live, Map<UserStatus, Long> deleted) {
+        this.live = Collections.unmodifiableMap(live);
+        this.deleted = Collections.unmodifiableMap(deleted);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Live (not deleted) users with the status
+     */
+    public long count(UserStatus status) {
+        return live.getOrDefault(status, 0L);
+    }
+
+    public long countDeleted(UserStatus status) {
+        return deleted.getOrDefault(status, 0L);
+    }
+
+    /**
+     * All live users
+     */
+    public long total() {
+        return live.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long totalDeleted() {
+        return deleted.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public static final class Builder {
+        private final Map<UserStatus, Long> live = new EnumMap<>(UserStatus.class);
+        private final Map<UserStatus, Long> deleted = new EnumMap<>(UserStatus.class);
+
+        private Builder() {}
+
+        public Builder add(UserStatus status, boolean isDeleted, long count) {
+            (isDeleted ? deleted : live).merge(status, count, Long::sum);
+            return this;
+        }
+
+        public UserStatusCounts build() {
+            return new UserStatusCounts(new EnumMap<>(live), new EnumMap<>(deleted));
+        }
+    }
+}
@@ -15,6 +15,10 @@ public class Username implements ValueObject {
     private final String value;
 
     private Username(String value) {
+        this.value = value;
+    }
+
+    public static Username of(String value) {
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Username không được để trống");
         }
@@ -24,10 +28,13 @@ public class Username implements ValueObject {
         if (!USERNAME_PATTERN.matcher(value).matches()) {
             throw new IllegalArgumentException("Username chỉ chứa chữ, số và dấu gạch dưới");
         }
-        this.value = value.trim();
+        return new Username(value.trim());
     }
 
-    public static Username of(String value) {
+    /**
+     * Reconstruct from persistence: the value was validated by of() when stored
+     */
+    public static Username reconstitute(String value) {
         return new Username(value);
     }
 
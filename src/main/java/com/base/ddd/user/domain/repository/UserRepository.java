@@ -2,8 +2,11 @@ package com.base.ddd.user.domain.repository;
 
 import com.base.ddd.user.domain.model.*;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * User Repository Interface (Domain Layer)
@@ -11,6 +14,11 @@ import java.util.Optional;
  */
 public interface UserRepository {
 
+    /**
+     * Allocate the identity of a new user, before it is persisted
+     */
+    UserId nextId();
+
     /**
      * Save user (create or update)
      */
@@ -21,11 +29,34 @@ public interface UserRepository {
      */
     List<User> saveAll(List<User> users);
 
+    /**
+     * Set-based status change: users among the ids that are not deleted and currently
+     * have one of the given statuses get the new status, locked first so the result is exact
+     * @return previous status of every changed user
+     */
+    Map<UserId, UserStatus> changeStatus(List<UserId> ids, Set<UserStatus> fromStatuses, UserStatus newStatus);
+
+    /**
+     * Usernames among the given ones already taken, deleted users included (lower case,
+     * the unique keys are case-insensitive)
+     */
+    Set<String> findExistingUsernames(Collection<Username> usernames);
+
+    /**
+     * Emails among the given ones already taken, deleted users included
+     */
+    Set<String> findExistingEmails(Collection<Email> emails);
+
     /**
      * Find user by ID
      */
     Optional<User> findById(UserId id);
 
+    /**
+     * Find user by ID, soft deleted and archived users included
+     */
+    Optional<User> findByIdIncludingDeleted(UserId id);
+
     /**
      * Find active user by ID
      */
@@ -106,6 +137,11 @@ public interface UserRepository {
      */
     long countActiveUsers();
 
+    /**
+     * Count users per status and deleted flag in a single aggregate query
+     */
+    UserStatusCounts countByStatusAndDeleted();
+
     /**
      * Check if user exists by ID
      */
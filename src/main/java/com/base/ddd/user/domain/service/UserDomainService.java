@@ -1,10 +1,15 @@
 package com.base.ddd.user.domain.service;
 
 import com.base.ddd.shared.exception.ValidationException;
+import com.base.ddd.user.domain.event.UserStatusChangedEvent;
 import com.base.ddd.user.domain.model.*;
 import com.base.ddd.user.domain.repository.UserRepository;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * User Domain Service
@@ -99,9 +104,25 @@ public class UserDomainService {
             return false;
         }
 
-        // Business rules for status transitions
-        UserStatus currentStatus = user.getStatus();
+        return isAllowedTransition(user.getStatus(), newStatus);
+    }
+
+    /**
+     * Statuses from which a user may move to the given one: canChangeStatus as a set,
+     * so bulk changes can apply the rules as a SQL predicate
+     */
+    public Set<UserStatus> allowedSourceStatuses(UserStatus newStatus) {
+        Set<UserStatus> statuses = EnumSet.noneOf(UserStatus.class);
+        for (UserStatus status : UserStatus.values()) {
+            if (status != newStatus && isAllowedTransition(status, newStatus)) {
+                statuses.add(status);
+            }
+        }
+        return statuses;
+    }
 
+    // Business rules for status transitions
+    private static boolean isAllowedTransition(UserStatus currentStatus, UserStatus newStatus) {
         // Blocked users must go through INACTIVE before ACTIVE
         if (currentStatus == UserStatus.BLOCKED && newStatus == UserStatus.ACTIVE) {
             return false;
@@ -145,33 +166,31 @@ public class UserDomainService {
     }
 
     /**
-     * Bulk activate users
+     * Set-based status change for one chunk of users, without loading the aggregates.
+     * Users whose current status does not allow the transition (or that are deleted) are skipped.
+     * @return a status changed event for every user actually changed, to publish after commit
      */
-    public void bulkActivateUsers(List<UserId> userIds) {
-        List<User> users = userRepository.findAllById(userIds);
+    public List<UserStatusChangedEvent> changeStatusInBulk(List<UserId> userIds, UserStatus newStatus) {
+        Map<UserId, UserStatus> previous =
+                userRepository.changeStatus(userIds, allowedSourceStatuses(newStatus), newStatus);
 
-        for (User user : users) {
-            if (canChangeStatus(user, UserStatus.ACTIVE)) {
-                user.activate();
-            }
-        }
+        List<UserStatusChangedEvent> events = new ArrayList<>(previous.size());
+        previous.forEach((userId, oldStatus) -> events.add(new UserStatusChangedEvent(userId, oldStatus, newStatus)));
+        return events;
+    }
 
-        userRepository.saveAll(users);
+    /**
+     * Bulk activate users
+     */
+    public List<UserStatusChangedEvent> bulkActivateUsers(List<UserId> userIds) {
+        return changeStatusInBulk(userIds, UserStatus.ACTIVE);
     }
 
     /**
      * Bulk deactivate users
      */
-    public void bulkDeactivateUsers(List<UserId> userIds) {
-        List<User> users = userRepository.findAllById(userIds);
-
-        for (User user : users) {
-            if (canChangeStatus(user, UserStatus.INACTIVE)) {
-                user.deactivate();
-            }
-        }
-
-        userRepository.saveAll(users);
+    public List<UserStatusChangedEvent> bulkDeactivateUsers(List<UserId> userIds) {
+        return changeStatusInBulk(userIds, UserStatus.INACTIVE);
     }
 
     /**
@@ -192,12 +211,14 @@ public class UserDomainService {
      * Get user statistics
      */
     public UserStatistics getUserStatistics() {
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.countActiveUsers();
-        long blockedUsers = userRepository.countByStatus(UserStatus.BLOCKED);
-        long pendingUsers = userRepository.countByStatus(UserStatus.PENDING);
-
-        return new UserStatistics(totalUsers, activeUsers, blockedUsers, pendingUsers);
+        // One GROUP BY query instead of a COUNT per figure
+        UserStatusCounts counts = userRepository.countByStatusAndDeleted();
+
+        return new UserStatistics(
+                counts.total(),
+                counts.count(UserStatus.ACTIVE),
+                counts.count(UserStatus.BLOCKED),
+                counts.count(UserStatus.PENDING));
     }
 
     /**
@@ -0,0 +1,27 @@
+package com.base.ddd.user.infrastructure.event;
+
+import com.base.ddd.shared.infrastructure.CoalescingRule;
+import com.base.ddd.user.domain.event.UserStatusChangedEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consecutive status changes of one user in a transaction count as one, from the first old status
+ * to the last new one, or none at all when it ends where it started (ACTIVE -> BLOCKED -> ACTIVE)
+ * Keeps the status counters and projections from replaying intermediate states
+ */
+@Component
+public class UserStatusChangeCoalescingRule implements CoalescingRule<UserStatusChangedEvent> {
+
+    @Override
+    public Class<UserStatusChangedEvent> eventType() {
+        return UserStatusChangedEvent.class;
+    }
+
+    @Override
+    public UserStatusChangedEvent merge(UserStatusChangedEvent earlier, UserStatusChangedEvent later) {
+        if (earlier.getOldStatus() == later.getNewStatus()) {
+            return null;
+        }
+        return new UserStatusChangedEvent(earlier.getUserId(), earlier.getOldStatus(), later.getNewStatus());
+    }
+}
@@ -0,0 +1,190 @@
+package com.base.ddd.user.infrastructure.persistence.archive;
+
+import com.base.configuration.property.ArchiveProperties;
+import com.base.ddd.user.infrastructure.persistence.entity.UserJpaEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Cold storage for long soft deleted users: users_archive holds the same columns as users,
+ * without the unique keys (an archived user no longer reserves its username / email)
+ * Every method expects to run inside the caller's transaction
+ */
+@Component
+public class UserArchive {
+
+    private static final String COLUMNS = "id, username, email, password_hash, full_name, phone_number, " +
+            "status, age, address, avatar_url, created_at, created_by, updated_at, updated_by, deleted, version";
+
+    private static final RowMapper<UserJpaEntity> ROW_MAPPER = (rs, rowNum) -> UserJpaEntity.builder()
+            .id(rs.getLong("id"))
+            .username(rs.getString("username"))
+            .email(rs.getString("email"))
+            .passwordHash(rs.getString("password_hash"))
+            .fullName(rs.getString("full_name"))
+            .phoneNumber(rs.getString("phone_number"))
+            .status(rs.getString("status"))
+            .age(rs.getObject("age", Integer.class))
+            .address(rs.getString("address"))
+            .avatarUrl(rs.getString("avatar_url"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .createdBy(rs.getString("created_by"))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .updatedBy(rs.getString("updated_by"))
+            .deleted(rs.getBoolean("deleted"))
+            .version(rs.getObject("version", Long.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final EntityManager entityManager;
+    private final ArchiveProperties properties;
+    private final Cache<String, Long> emailIds;
+
+    public UserArchive(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                       EntityManager entityManager, ArchiveProperties properties,
+                       @Qualifier("hibernateCacheManager") CacheManager cacheManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.entityManager = entityManager;
+        this.properties = properties;
+        this.emailIds = cacheManager.getCache("user-email-ids", String.class, Long.class);
+    }
+
+    /**
+     * Created up front: DDL on the caller's connection would commit its transaction implicitly (MySQL)
+     */
+    @PostConstruct
+    void createTable() {
+        if (!properties.isCreateTable()) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS users_archive (" +
+                "id BIGINT NOT NULL PRIMARY KEY, " +
+                "username VARCHAR(50) NOT NULL, " +
+                "email VARCHAR(100) NOT NULL, " +
+                "password_hash VARCHAR(255) NOT NULL, " +
+                "full_name VARCHAR(100), " +
+                "phone_number VARCHAR(20), " +
+                "status VARCHAR(20) NOT NULL, " +
+                "age INT, " +
+                "address TEXT, " +
+                "avatar_url VARCHAR(500), " +
+                "created_at DATETIME(6) NOT NULL, " +
+                "created_by VARCHAR(100), " +
+                "updated_at DATETIME(6), " +
+                "updated_by VARCHAR(100), " +
+                "deleted BIT NOT NULL, " +
+                "version BIGINT, " +
+                "archived_at DATETIME(6) NOT NULL, " +
+                "INDEX idx_users_archive_archived_at (archived_at))");
+    }
+
+    /**
+     * Move the next chunk of users soft deleted before the cutoff, in id order after the given id
+     * @return ids moved, empty once nothing is left
+     */
+    public List<Long> archiveChunk(LocalDateTime deletedBefore, long afterId, int limit) {
+        // Keyset walk over idx_users_deleted (deleted, id); locking keeps a concurrent restore out
+        List<Archived> rows = jdbcTemplate.query("SELECT id, username, email FROM users " +
+                        "WHERE deleted = true AND updated_at < ? AND id > ? ORDER BY id LIMIT ? FOR UPDATE",
+                (rs, rowNum) -> new Archived(rs.getLong("id"), rs.getString("username"), rs.getString("email")),
+                deletedBefore, afterId, limit);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = rows.stream().map(Archived::id).toList();
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", LocalDateTime.now());
+        namedJdbcTemplate.update("INSERT INTO users_archive (" + COLUMNS + ", archived_at) " +
+                "SELECT " + COLUMNS + ", :now FROM users WHERE id IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM users WHERE id IN (:ids)", params);
+
+        evictFromCaches(rows);
+        return ids;
+    }
+
+    /**
+     * The user row, deleted or not, from the hot table or else the archive (one round trip)
+     */
+    public Optional<UserJpaEntity> findIncludingArchived(Long id) {
+        List<UserJpaEntity> rows = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM users WHERE id = ? " +
+                        "UNION ALL SELECT " + COLUMNS + " FROM users_archive WHERE id = ?",
+                ROW_MAPPER, id, id);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Move an archived user back into users, if still archived at the given version
+     * A username or email taken since makes the INSERT fail with a DataIntegrityViolationException
+     * @return false when the user is not (or no longer) archived at that version
+     */
+    public boolean unarchive(Long id, Long version) {
+        List<Long> archived = jdbcTemplate.queryForList(
+                "SELECT version FROM users_archive WHERE id = ? FOR UPDATE", Long.class, id);
+        if (archived.isEmpty() || !Objects.equals(archived.get(0), version)) {
+            return false;
+        }
+
+        jdbcTemplate.update("INSERT INTO users (" + COLUMNS + ") " +
+                "SELECT " + COLUMNS + " FROM users_archive WHERE id = ?", id);
+        jdbcTemplate.update("DELETE FROM users_archive WHERE id = ?", id);
+        return true;
+    }
+
+    /**
+     * Archiving frees the username and email: drop every cached way to the archived ids,
+     * now and again after commit (a concurrent read may cache the rows in between)
+     */
+    private void evictFromCaches(List<Archived> rows) {
+        jakarta.persistence.Cache cache = entityManager.getEntityManagerFactory().getCache();
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(UserJpaEntity.class);
+        NaturalIdDataAccess naturalIds = persister.getNaturalIdMapping().getCacheAccess();
+        List<Object> naturalIdKeys = naturalIds == null ? List.of() : rows.stream()
+                .map(row -> naturalIds.generateCacheKey(row.username(), persister, session))
+                .toList();
+
+        Runnable evict = () -> {
+            rows.forEach(row -> {
+                cache.evict(UserJpaEntity.class, row.id());
+                emailIds.remove(row.email());
+            });
+            naturalIdKeys.forEach(naturalIds::evict);
+        };
+        evict.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    private record Archived(Long id, String username, String email) {
+    }
+}
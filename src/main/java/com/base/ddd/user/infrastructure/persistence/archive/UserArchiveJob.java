@@ -0,0 +1,91 @@
+package com.base.ddd.user.infrastructure.persistence.archive;
+
+import com.base.configuration.property.ArchiveProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves users soft deleted for longer than the retention into users_archive, so the hot table
+ * (and every index on it) only holds live and recently deleted users
+ * Small chunks in their own transactions, with a pause in between, to stay out of the way of live traffic
+ */
+@Slf4j
+@Component
+public class UserArchiveJob {
+
+    private final UserArchive archive;
+    private final ArchiveProperties properties;
+    private final TransactionTemplate chunkTransaction;
+    private final Counter archived;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public UserArchiveJob(UserArchive archive, ArchiveProperties properties,
+                          PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.archive = archive;
+        this.properties = properties;
+
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.archived = Counter.builder("app.users.archived")
+                .description("Soft deleted users moved to users_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT1H}", initialDelayString = "${app.archive.interval:PT1H}")
+    public void run() {
+        if (!properties.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            archive(LocalDateTime.now().minus(properties.getRetention()));
+        } catch (RuntimeException e) {
+            log.warn("User archival stopped: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void archive(LocalDateTime deletedBefore) {
+        long afterId = 0;
+        long total = 0;
+        for (int chunk = 0; chunk < properties.getMaxChunksPerRun(); chunk++) {
+            long from = afterId;
+            List<Long> ids = chunkTransaction.execute(
+                    status -> archive.archiveChunk(deletedBefore, from, properties.getChunkSize()));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            total += ids.size();
+            archived.increment(ids.size());
+
+            if (ids.size() < properties.getChunkSize() || !pause()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} users soft deleted before {}", total, deletedBefore);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
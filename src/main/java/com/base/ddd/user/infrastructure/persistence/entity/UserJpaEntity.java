@@ -2,7 +2,12 @@ package com.base.ddd.user.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.Where;
@@ -38,17 +43,24 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
-@SQLDelete(sql = "UPDATE users SET deleted = true WHERE id = ? AND version = ?")
+@DynamicUpdate
+// Second-level cache (ehcache.xml); writes that bypass Hibernate evict explicitly, see UserRepositoryImpl
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-natural-ids")
+// updated_at marks the deletion time, the archival retention counts from it (UserArchiveJob)
+@SQLDelete(sql = "UPDATE users SET deleted = true, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND version = ?")
 @Where(clause = "deleted = false")
 public class UserJpaEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    // Assigned from the pooled IdAllocator (UserRepository.nextId), not IDENTITY, so inserts batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
     private Long id;
 
+    // Never changes once created: resolved to the id through the natural-id cache
+    @NaturalId
     @Column(name = "username", nullable = false, length = 50)
     private String username;
 
@@ -0,0 +1,172 @@
+package com.base.ddd.user.infrastructure.persistence.imports;
+
+import com.base.configuration.property.ImportProperties;
+import com.base.ddd.user.application.imports.UserImportFormat;
+import com.base.ddd.user.application.imports.UserImportJob;
+import com.base.ddd.user.application.imports.UserImportJobStore;
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Import jobs in user_import_jobs, their kept row errors in user_import_job_errors
+ * The spool file path is stored as is, so a resume needs the file where the upload was spooled
+ */
+@Component
+public class JdbcUserImportJobStore implements UserImportJobStore {
+
+    private static final int MAX_MESSAGE_LENGTH = 500;
+    private static final int MAX_FAILURE_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ImportProperties properties;
+
+    public JdbcUserImportJobStore(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                                  ImportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Created up front: DDL inside the chunk transaction would commit it implicitly (MySQL)
+     */
+    @PostConstruct
+    void createTable() {
+        if (!properties.isCreateTable()) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS user_import_jobs (" +
+                "id VARCHAR(36) NOT NULL PRIMARY KEY, " +
+                "format VARCHAR(10) NOT NULL, " +
+                "spool_file VARCHAR(500) NOT NULL, " +
+                "status VARCHAR(20) NOT NULL, " +
+                "checkpoint_line BIGINT NOT NULL, " +
+                "rows_read BIGINT NOT NULL, " +
+                "imported BIGINT NOT NULL, " +
+                "rejected BIGINT NOT NULL, " +
+                "failure VARCHAR(1000), " +
+                "created_at DATETIME(6) NOT NULL, " +
+                "started_at DATETIME(6), " +
+                "finished_at DATETIME(6), " +
+                "updated_at DATETIME(6) NOT NULL, " +
+                "INDEX idx_user_import_jobs_finished_at (finished_at))");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS user_import_job_errors (" +
+                "job_id VARCHAR(36) NOT NULL, " +
+                "line BIGINT NOT NULL, " +
+                "message VARCHAR(500) NOT NULL, " +
+                "PRIMARY KEY (job_id, line))");
+    }
+
+    @Override
+    public void insert(UserImportJob job) {
+        jdbcTemplate.update("INSERT INTO user_import_jobs (id, format, spool_file, status, checkpoint_line, rows_read, " +
+                        "imported, rejected, created_at, updated_at) VALUES (?, ?, ?, ?, 0, 0, 0, 0, ?, ?)",
+                job.getId(), job.getFormat().name(), job.getSpoolFile().toString(), job.getStatus().name(),
+                timestamp(job.getCreatedAt()), timestamp(Instant.now()));
+    }
+
+    @Override
+    public void saveStatus(UserImportJob job) {
+        jdbcTemplate.update("UPDATE user_import_jobs SET status = ?, started_at = ?, finished_at = ?, failure = ?, " +
+                        "updated_at = ? WHERE id = ?",
+                job.getStatus().name(), timestamp(job.getStartedAt()), timestamp(job.getFinishedAt()),
+                truncate(job.getFailure(), MAX_FAILURE_LENGTH), timestamp(Instant.now()), job.getId());
+    }
+
+    @Override
+    public void chunkCommitted(String jobId, long checkpointLine, int rows, int imported, int rejected,
+                               List<UserImportJob.RowError> keptErrors) {
+        jdbcTemplate.update("UPDATE user_import_jobs SET checkpoint_line = ?, rows_read = rows_read + ?, " +
+                        "imported = imported + ?, rejected = rejected + ?, updated_at = ? WHERE id = ?",
+                checkpointLine, rows, imported, rejected, timestamp(Instant.now()), jobId);
+        if (!keptErrors.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO user_import_job_errors (job_id, line, message) VALUES (?, ?, ?)",
+                    keptErrors.stream()
+                            .map(error -> new Object[]{jobId, error.line(), truncate(error.message(), MAX_MESSAGE_LENGTH)})
+                            .toList());
+        }
+    }
+
+    @Override
+    public Optional<UserImportJob> find(String id) {
+        Optional<UserImportJob.UserImportJobBuilder> job = jdbcTemplate.query("SELECT * FROM user_import_jobs WHERE id = ?",
+                (rs, rowNum) -> UserImportJob.restore()
+                        .id(rs.getString("id"))
+                        .format(UserImportFormat.valueOf(rs.getString("format")))
+                        .spoolFile(Paths.get(rs.getString("spool_file")))
+                        .maxErrors(properties.getMaxErrors())
+                        .status(UserImportJob.Status.valueOf(rs.getString("status")))
+                        .checkpointLine(rs.getLong("checkpoint_line"))
+                        .rowsRead(rs.getLong("rows_read"))
+                        .imported(rs.getLong("imported"))
+                        .rejected(rs.getLong("rejected"))
+                        .failure(rs.getString("failure"))
+                        .createdAt(instant(rs.getTimestamp("created_at")))
+                        .startedAt(instant(rs.getTimestamp("started_at")))
+                        .finishedAt(instant(rs.getTimestamp("finished_at"))),
+                id).stream().findFirst();
+        return job.map(builder -> builder
+                .errors(jdbcTemplate.query("SELECT line, message FROM user_import_job_errors WHERE job_id = ? ORDER BY line",
+                        (rs, rowNum) -> new UserImportJob.RowError(rs.getLong("line"), rs.getString("message")),
+                        id))
+                .build());
+    }
+
+    @Override
+    public boolean claim(String id, Instant staleBefore) {
+        return jdbcTemplate.update("UPDATE user_import_jobs SET status = 'QUEUED', updated_at = ? WHERE id = ? " +
+                        "AND (status = 'FAILED' OR (status IN ('QUEUED', 'RUNNING') AND updated_at < ?))",
+                timestamp(Instant.now()), id, timestamp(staleBefore)) == 1;
+    }
+
+    @Override
+    public void heartbeat(Collection<String> ids) {
+        if (!ids.isEmpty()) {
+            namedJdbcTemplate.update("UPDATE user_import_jobs SET updated_at = :now " +
+                            "WHERE id IN (:ids) AND status IN ('QUEUED', 'RUNNING')",
+                    new MapSqlParameterSource("ids", ids).addValue("now", timestamp(Instant.now())));
+        }
+    }
+
+    @Override
+    public List<Path> deleteFinishedBefore(Instant finishedBefore) {
+        List<Expired> expired = jdbcTemplate.query(
+                "SELECT id, spool_file FROM user_import_jobs WHERE finished_at < ? AND status IN ('COMPLETED', 'FAILED')",
+                (rs, rowNum) -> new Expired(rs.getString("id"), Paths.get(rs.getString("spool_file"))),
+                timestamp(finishedBefore));
+        if (expired.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", expired.stream().map(Expired::id).toList());
+        namedJdbcTemplate.update("DELETE FROM user_import_job_errors WHERE job_id IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM user_import_jobs WHERE id IN (:ids)", params);
+        return expired.stream().map(Expired::spoolFile).toList();
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private record Expired(String id, Path spoolFile) {
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -53,22 +54,27 @@ public class UserPersistenceMapper {
 
     /**
      * Update existing JPA Entity from Domain Model
+     * Only the fields the aggregate changed are copied, so dirty checking (with @DynamicUpdate)
+     * writes just those columns
      */
     public void updateJpaEntity(User user, UserJpaEntity entity) {
         if (user == null || entity == null) {
             return;
         }
 
-        entity.setUsername(user.getUsername().getValue());
-        entity.setEmail(user.getEmail().getValue());
-        entity.setPasswordHash(user.getPassword().getValue());
-        entity.setFullName(user.getFullName());
-        entity.setPhoneNumber(user.getPhoneNumber());
-        entity.setStatus(user.getStatus().name());
-        entity.setAge(user.getAge());
-        entity.setAddress(user.getAddress());
-        entity.setAvatarUrl(user.getAvatarUrl());
-        entity.setDeleted(user.isDeleted());
+        for (User.Field field : user.getChangedFields()) {
+            switch (field) {
+                case EMAIL -> entity.setEmail(user.getEmail().getValue());
+                case PASSWORD -> entity.setPasswordHash(user.getPassword().getValue());
+                case FULL_NAME -> entity.setFullName(user.getFullName());
+                case PHONE_NUMBER -> entity.setPhoneNumber(user.getPhoneNumber());
+                case STATUS -> entity.setStatus(user.getStatus().name());
+                case AGE -> entity.setAge(user.getAge());
+                case ADDRESS -> entity.setAddress(user.getAddress());
+                case AVATAR_URL -> entity.setAvatarUrl(user.getAvatarUrl());
+                case DELETED -> entity.setDeleted(user.isDeleted());
+            }
+        }
 
         // Version will be incremented by JPA
     }
@@ -82,11 +88,11 @@ public class UserPersistenceMapper {
         }
 
         try {
-            // Reconstitute domain model from persistence
+            // Reconstitute domain model from persistence; the values were validated when stored
             User user = User.reconstitute(
-                    UserId.of(entity.getId()),
-                    Username.of(entity.getUsername()),
-                    Email.of(entity.getEmail()),
+                    UserId.reconstitute(entity.getId()),
+                    Username.reconstitute(entity.getUsername()),
+                    Email.reconstitute(entity.getEmail()),
                     Password.fromHash(entity.getPasswordHash()),
                     entity.getFullName(),
                     entity.getPhoneNumber(),
@@ -110,6 +116,7 @@ public class UserPersistenceMapper {
             if (entity.getUpdatedBy() != null) {
                 user.setUpdatedBy(entity.getUpdatedBy());
             }
+            user.setVersion(entity.getVersion());
 
             return user;
 
@@ -128,9 +135,11 @@ public class UserPersistenceMapper {
             return List.of();
         }
 
-        return entities.stream()
-                .map(this::toDomainModel)
-                .collect(Collectors.toList());
+        List<User> users = new ArrayList<>(entities.size());
+        for (UserJpaEntity entity : entities) {
+            users.add(toDomainModel(entity));
+        }
+        return users;
     }
 
     /**
@@ -7,6 +7,7 @@ import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -76,4 +77,22 @@ public interface UserJpaRepository extends
     // Bulk operations
     @Query("SELECT u FROM UserJpaEntity u WHERE u.id IN :ids AND u.deleted = false")
     List<UserJpaEntity> findAllByIdAndDeletedFalse(@Param("ids") List<Long> ids);
-}
\ No newline at end of file
+
+    // Taken unique keys among a batch, deleted rows included (native: @Where would hide them)
+    @Query(value = "SELECT u.username FROM users u WHERE u.username IN (:usernames)", nativeQuery = true)
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query(value = "SELECT u.email FROM users u WHERE u.email IN (:emails)", nativeQuery = true)
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Counts per status / deleted flag in one pass (native: @Where would hide deleted rows)
+    @Query(value = "SELECT u.status, u.deleted, COUNT(*) FROM users u GROUP BY u.status, u.deleted",
+            nativeQuery = true)
+    List<Object[]> countGroupByStatusAndDeleted();
+
+    // Full-text keyword search (needs the ngram FULLTEXT index ft_users_keyword)
+    @Query(value = "SELECT u.id FROM users u WHERE u.deleted = false " +
+            "AND MATCH(u.username, u.email, u.full_name, u.phone_number) AGAINST (:phrase IN BOOLEAN MODE) " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsByFullText(@Param("phrase") String phrase, @Param("limit") int limit);
+}
@@ -1,14 +1,40 @@
 package com.base.ddd.user.infrastructure.persistence.repository;
 
+import com.base.ddd.shared.infrastructure.DomainEventDispatcher;
+import com.base.ddd.shared.infrastructure.IdAllocator;
 import com.base.ddd.user.domain.model.*;
 import com.base.ddd.user.domain.repository.UserRepository;
+import com.base.ddd.user.infrastructure.persistence.archive.UserArchive;
 import com.base.ddd.user.infrastructure.persistence.entity.UserJpaEntity;
 import com.base.ddd.user.infrastructure.persistence.mapper.UserPersistenceMapper;
-import lombok.RequiredArgsConstructor;
+import com.base.ddd.user.infrastructure.query.UserUniquenessFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -16,39 +42,145 @@ import java.util.stream.Collectors;
  * Adapts JPA Repository to Domain Repository
  */
 @Component
-@RequiredArgsConstructor
 public class UserRepositoryImpl implements UserRepository {
 
     private final UserJpaRepository jpaRepository;
     private final UserPersistenceMapper mapper;
+    private final DomainEventDispatcher eventDispatcher;
+    private final IdAllocator idAllocator;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+    private final UserUniquenessFilter uniquenessFilter;
+    private final UserArchive archive;
+    // email -> id, checked against the (second-level cached) entity on every hit
+    private final Cache<String, Long> emailIds;
+
+    public UserRepositoryImpl(UserJpaRepository jpaRepository,
+                              UserPersistenceMapper mapper,
+                              DomainEventDispatcher eventDispatcher,
+                              IdAllocator idAllocator,
+                              EntityManager entityManager,
+                              JdbcTemplate jdbcTemplate,
+                              NamedParameterJdbcTemplate namedJdbcTemplate,
+                              AuditorAware<String> auditorAware,
+                              UserUniquenessFilter uniquenessFilter,
+                              UserArchive archive,
+                              @Qualifier("hibernateCacheManager") CacheManager cacheManager) {
+        this.jpaRepository = jpaRepository;
+        this.mapper = mapper;
+        this.eventDispatcher = eventDispatcher;
+        this.idAllocator = idAllocator;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.auditorAware = auditorAware;
+        this.uniquenessFilter = uniquenessFilter;
+        this.archive = archive;
+        this.emailIds = cacheManager.getCache("user-email-ids", String.class, Long.class);
+    }
+
+    @Override
+    public UserId nextId() {
+        return UserId.of(idAllocator.next("users"));
+    }
 
     @Override
     public User save(User user) {
-        UserJpaEntity entity = mapper.toJpaEntity(user);
-        UserJpaEntity saved = jpaRepository.save(entity);
-        User savedUser = mapper.toDomainModel(saved);
+        User saved = isNew(user) ? mapper.toDomainModel(jpaRepository.save(mapper.toJpaEntity(user))) : update(List.of(user)).get(0);
 
-        // Clear domain events after save
-        savedUser.clearDomainEvents();
+        // Publish the aggregate's events once the transaction commits
+        eventDispatcher.dispatch(user);
 
-        return savedUser;
+        return saved;
     }
 
     @Override
     public List<User> saveAll(List<User> users) {
-        List<UserJpaEntity> entities = mapper.toJpaEntities(users);
-        List<UserJpaEntity> saved = jpaRepository.saveAll(entities);
-        List<User> savedUsers = mapper.toDomainModels(saved);
+        List<User> updates = new ArrayList<>();
+        List<UserJpaEntity> inserts = new ArrayList<>();
+        for (User user : users) {
+            if (isNew(user)) {
+                inserts.add(mapper.toJpaEntity(user));
+            } else {
+                updates.add(user);
+            }
+        }
+        List<User> saved = new ArrayList<>(update(updates));
+        saved.addAll(mapper.toDomainModels(jpaRepository.saveAll(inserts)));
+
+        // Publish the aggregates' events once the transaction commits
+        users.forEach(eventDispatcher::dispatch);
+
+        return saved;
+    }
+
+    @Override
+    public Map<UserId, UserStatus> changeStatus(List<UserId> ids, Set<UserStatus> fromStatuses, UserStatus newStatus) {
+        Map<UserId, UserStatus> previous = new LinkedHashMap<>();
+        if (ids.isEmpty() || fromStatuses.isEmpty()) {
+            return previous;
+        }
+
+        // Lock the rows that qualify, so exactly those are updated and reported
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids.stream().map(UserId::getValue).toList())
+                .addValue("statuses", fromStatuses.stream().map(UserStatus::name).toList());
+        namedJdbcTemplate.query("SELECT id, status FROM users " +
+                        "WHERE id IN (:ids) AND status IN (:statuses) AND deleted = false FOR UPDATE",
+                params, row -> {
+                    previous.put(UserId.reconstitute(row.getLong("id")), UserStatus.valueOf(row.getString("status")));
+                });
+        if (previous.isEmpty()) {
+            return previous;
+        }
+
+        evictFromCache(previous.keySet().stream().map(UserId::getValue).toList());
+        namedJdbcTemplate.update("UPDATE users SET status = :status, updated_at = :now, updated_by = :by, " +
+                        "version = version + 1 WHERE id IN (:ids)",
+                new MapSqlParameterSource()
+                        .addValue("status", newStatus.name())
+                        .addValue("now", LocalDateTime.now())
+                        .addValue("by", auditorAware.getCurrentAuditor().orElse(null))
+                        .addValue("ids", previous.keySet().stream().map(UserId::getValue).toList()));
+        return previous;
+    }
 
-        // Clear domain events after save
-        savedUsers.forEach(User::clearDomainEvents);
+    @Override
+    public Set<String> findExistingUsernames(Collection<Username> usernames) {
+        if (usernames.isEmpty()) {
+            return Set.of();
+        }
+        return jpaRepository.findExistingUsernames(usernames.stream().map(Username::getValue).toList())
+                .stream()
+                .map(value -> value.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
 
-        return savedUsers;
+    @Override
+    public Set<String> findExistingEmails(Collection<Email> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return jpaRepository.findExistingEmails(emails.stream().map(Email::getValue).toList())
+                .stream()
+                .map(value -> value.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
     }
 
     @Override
     public Optional<User> findById(UserId id) {
         return jpaRepository.findById(id.getValue())
+                .filter(UserRepositoryImpl::isLive)
+                .map(mapper::toDomainModel);
+    }
+
+    @Override
+    public Optional<User> findByIdIncludingDeleted(UserId id) {
+        // Plain SQL: @Where hides deleted rows and archived ones are not in users at all.
+        // The entity stays detached, so saving it goes through the version-guarded UPDATE below
+        return archive.findIncludingArchived(id.getValue())
                 .map(mapper::toDomainModel);
     }
 
@@ -60,13 +192,34 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public Optional<User> findByEmail(Email email) {
-        return jpaRepository.findByEmailAndDeletedFalse(email.getValue())
-                .map(mapper::toDomainModel);
+        String value = email.getValue();
+
+        // A cached id only counts if that user still has the email; otherwise ask the database
+        Long cachedId = emailIds.get(value);
+        if (cachedId != null) {
+            Optional<UserJpaEntity> cached = jpaRepository.findById(cachedId)
+                    .filter(entity -> isLive(entity) && value.equalsIgnoreCase(entity.getEmail()));
+            if (cached.isPresent()) {
+                return cached.map(mapper::toDomainModel);
+            }
+            emailIds.remove(value);
+        }
+
+        Optional<UserJpaEntity> found = jpaRepository.findByEmailAndDeletedFalse(value);
+        // Same rule as the second-level cache: a read that may come from a lagging replica is not cached
+        if (entityManager.unwrap(Session.class).getCacheMode().isPutEnabled()) {
+            found.ifPresent(entity -> emailIds.put(value, entity.getId()));
+        }
+        return found.map(mapper::toDomainModel);
     }
 
     @Override
     public Optional<User> findByUsername(Username username) {
-        return jpaRepository.findByUsernameAndDeletedFalse(username.getValue())
+        // username -> id from the natural-id cache, the entity from the second-level cache
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserJpaEntity.class)
+                .loadOptional(username.getValue())
+                .filter(UserRepositoryImpl::isLive)
                 .map(mapper::toDomainModel);
     }
 
@@ -104,12 +257,15 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public boolean existsByEmail(Email email) {
-        return jpaRepository.existsByEmailAndDeletedFalse(email.getValue());
+        // Names the Bloom filter has never seen are free without a query
+        return uniquenessFilter.exists(UserUniquenessFilter.Key.EMAIL, email.getValue(),
+                () -> jpaRepository.existsByEmailAndDeletedFalse(email.getValue()));
     }
 
     @Override
     public boolean existsByUsername(Username username) {
-        return jpaRepository.existsByUsernameAndDeletedFalse(username.getValue());
+        return uniquenessFilter.exists(UserUniquenessFilter.Key.USERNAME, username.getValue(),
+                () -> jpaRepository.existsByUsernameAndDeletedFalse(username.getValue()));
     }
 
     @Override
@@ -155,8 +311,129 @@ public class UserRepositoryImpl implements UserRepository {
         return jpaRepository.countActiveUsers();
     }
 
+    @Override
+    public UserStatusCounts countByStatusAndDeleted() {
+        UserStatusCounts.Builder counts = UserStatusCounts.builder();
+        for (Object[] row : jpaRepository.countGroupByStatusAndDeleted()) {
+            counts.add(UserStatus.valueOf((String) row[0]), toBoolean(row[1]), ((Number) row[2]).longValue());
+        }
+        return counts.build();
+    }
+
     @Override
     public boolean existsById(UserId id) {
         return jpaRepository.existsById(id.getValue());
     }
+
+    // Never persisted yet: created through User.create, so no version was loaded
+    private static boolean isNew(User user) {
+        return user.getVersion() == null;
+    }
+
+    /**
+     * Write only the fields the aggregate changed, through the managed entity (dynamic-update dirty
+     * checking, entity auditing, version check), then flush once, so the aggregates come back
+     * with the version, updated_at and updated_by actually written
+     */
+    private List<User> update(List<User> users) {
+        Map<User, UserJpaEntity> changed = new IdentityHashMap<>();
+        for (User user : users) {
+            if (!user.getChangedFields().isEmpty()) {
+                UserJpaEntity entity = loadForUpdate(user);
+                mapper.updateJpaEntity(user, entity);
+                changed.put(user, entity);
+            }
+        }
+        if (changed.isEmpty()) {
+            return users;
+        }
+
+        try {
+            entityManager.flush();
+        } catch (OptimisticLockException e) {
+            throw new ObjectOptimisticLockingFailureException(e.getMessage(), e);
+        }
+        changed.forEach((user, entity) -> {
+            user.setVersion(entity.getVersion());
+            user.setUpdatedAt(entity.getUpdatedAt());
+            user.setUpdatedBy(entity.getUpdatedBy());
+            user.clearChangedFields();
+        });
+        return users;
+    }
+
+    /**
+     * The managed entity at the aggregate's version: already in this persistence context,
+     * else by id (usually a second-level cache hit), else the row even when soft deleted,
+     * else moved back from the archive (a user being restored)
+     */
+    private UserJpaEntity loadForUpdate(User user) {
+        Long id = user.getId().getValue();
+        UserJpaEntity entity = findManaged(id);
+        if (entity == null) {
+            entity = entityManager.find(UserJpaEntity.class, id);
+        }
+        if (entity == null) {
+            entity = findIncludingDeleted(id);
+        }
+        if (entity == null && archive.unarchive(id, user.getVersion())) {
+            entity = findIncludingDeleted(id);
+        }
+        if (entity == null || !Objects.equals(entity.getVersion(), user.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(UserJpaEntity.class, id);
+        }
+        return entity;
+    }
+
+    // Native SQL: @Where hides soft deleted rows from find and JPQL
+    @SuppressWarnings("unchecked")
+    private UserJpaEntity findIncludingDeleted(Long id) {
+        List<UserJpaEntity> rows = entityManager
+                .createNativeQuery("SELECT * FROM users WHERE id = ?", UserJpaEntity.class)
+                .setParameter(1, id)
+                .getResultList();
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Drop users written with plain SQL from the second-level cache, now and again once the
+     * transaction completes (a concurrent reader may cache the old row before the commit)
+     */
+    private void evictFromCache(Collection<Long> ids) {
+        jakarta.persistence.Cache cache = entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(UserJpaEntity.class, id));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> evicted = List.copyOf(ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evicted.forEach(id -> cache.evict(UserJpaEntity.class, id));
+                }
+            });
+        }
+    }
+
+    // Second-level cache hits are not filtered by @Where, soft deleted rows are dropped here
+    private static boolean isLive(UserJpaEntity entity) {
+        return !Boolean.TRUE.equals(entity.getDeleted());
+    }
+
+    /**
+     * The entity if this persistence context already holds it, without touching the database
+     */
+    private UserJpaEntity findManaged(Long id) {
+        UserJpaEntity reference = entityManager.getReference(UserJpaEntity.class, id);
+        if (Hibernate.isInitialized(reference)) {
+            return reference;
+        }
+        // Not loaded here: drop the proxy rather than initializing it with a SELECT
+        entityManager.detach(reference);
+        return null;
+    }
+
+    // MySQL returns BIT(1) / TINYINT columns as Boolean or Number depending on the driver settings
+    private static boolean toBoolean(Object value) {
+        return value instanceof Boolean bool ? bool : ((Number) value).intValue() != 0;
+    }
 }
\ No newline at end of file
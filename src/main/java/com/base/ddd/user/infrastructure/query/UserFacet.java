@@ -0,0 +1,111 @@
+package com.base.ddd.user.infrastructure.query;
+
+import com.base.ddd.shared.exception.ValidationException;
+import com.base.ddd.user.infrastructure.persistence.entity.QUserJpaEntity;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.dsl.Expressions;
+
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Facets the user filter API can count, with the column each one groups by
+ */
+enum UserFacet {
+
+    STATUS("status"),
+    DELETED("deleted"),
+    AGE("age"),
+    CREATED_BY("createdBy");
+
+    private static final QUserJpaEntity Q_USER = QUserJpaEntity.userJpaEntity;
+
+    // Lower bounds of the age buckets, the last one is open ended
+    private static final int[] AGE_BOUNDS = {0, 18, 25, 35, 45, 55, 65};
+    private static final String[] AGE_LABELS = {"<18", "18-24", "25-34", "35-44", "45-54", "55-64", "65+"};
+    static final String UNKNOWN = "unknown";
+
+    // Bucket index computed by the database; bounds are inlined so SELECT and GROUP BY stay identical
+    private static final Expression<Integer> AGE_BUCKET = ageBucket();
+
+    private final String facetName;
+
+    UserFacet(String facetName) {
+        this.facetName = facetName;
+    }
+
+    String facetName() {
+        return facetName;
+    }
+
+    /**
+     * Grouping column
+     */
+    Expression<?> column() {
+        return switch (this) {
+            case STATUS -> Q_USER.status;
+            case DELETED -> Q_USER.deleted;
+            case AGE -> AGE_BUCKET;
+            case CREATED_BY -> Q_USER.createdBy;
+        };
+    }
+
+    /**
+     * Facet value for a grouped column value
+     */
+    String label(Object value) {
+        if (value == null) {
+            return UNKNOWN;
+        }
+        if (this == AGE) {
+            return AGE_LABELS[((Number) value).intValue()];
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Age buckets are listed in range order, the other facets by descending count
+     */
+    Comparator<Map.Entry<String, Long>> order() {
+        if (this == AGE) {
+            List<String> labels = List.of(AGE_LABELS);
+            return Comparator.comparingInt(entry -> {
+                int index = labels.indexOf(entry.getKey());
+                return index >= 0 ? index : labels.size();
+            });
+        }
+        return Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+    }
+
+    static Set<UserFacet> parse(List<String> names) {
+        Set<UserFacet> facets = EnumSet.noneOf(UserFacet.class);
+        if (names == null) {
+            return facets;
+        }
+        for (String name : names) {
+            facets.add(from(name));
+        }
+        return facets;
+    }
+
+    private static UserFacet from(String name) {
+        for (UserFacet facet : values()) {
+            if (facet.facetName.equalsIgnoreCase(name)) {
+                return facet;
+            }
+        }
+        throw new ValidationException("Unknown facet: " + name);
+    }
+
+    private static Expression<Integer> ageBucket() {
+        StringBuilder template = new StringBuilder("case");
+        for (int i = AGE_BOUNDS.length - 1; i >= 0; i--) {
+            template.append(" when {0} >= ").append(AGE_BOUNDS[i]).append(" then ").append(i);
+        }
+        template.append(" end");
+        return Expressions.numberTemplate(Integer.class, template.toString(), Q_USER.age);
+    }
+}
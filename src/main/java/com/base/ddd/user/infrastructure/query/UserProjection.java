@@ -0,0 +1,85 @@
+package com.base.ddd.user.infrastructure.query;
+
+import com.base.ddd.shared.exception.ValidationException;
+import com.base.ddd.user.application.dto.SparseUserDTO;
+import com.base.ddd.user.application.dto.UserDTO;
+import com.base.ddd.user.infrastructure.persistence.entity.QUserJpaEntity;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.QBean;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column projections for the user read path
+ * Builds UserDTO straight from the selected columns, so no managed entity (and no password hash) is loaded
+ */
+final class UserProjection {
+
+    private static final QUserJpaEntity Q_USER = QUserJpaEntity.userJpaEntity;
+
+    // DTO property -> column, in SELECT order
+    private static final Map<String, Expression<?>> COLUMNS = columns();
+
+    private static final QBean<UserDTO> ALL = bean(UserDTO.class, COLUMNS.values());
+
+    private UserProjection() {}
+
+    /**
+     * Every UserDTO property
+     */
+    static QBean<UserDTO> all() {
+        return ALL;
+    }
+
+    /**
+     * Sparse fieldset: only the requested properties plus the ones the caller needs (id, sort keys),
+     * as {@link SparseUserDTO} so the unselected ones stay out of the JSON
+     */
+    static QBean<UserDTO> of(List<String> fields, Collection<String> required) {
+        if (fields == null || fields.isEmpty()) {
+            return ALL;
+        }
+
+        Map<String, Expression<?>> selected = new LinkedHashMap<>();
+        for (String field : fields) {
+            Expression<?> column = COLUMNS.get(field);
+            if (column == null) {
+                throw new ValidationException("Unknown field: " + field);
+            }
+            selected.put(field, column);
+        }
+        for (String field : required) {
+            selected.putIfAbsent(field, COLUMNS.get(field));
+        }
+
+        return selected.size() == COLUMNS.size() ? ALL : bean(SparseUserDTO.class, selected.values());
+    }
+
+    private static QBean<UserDTO> bean(Class<? extends UserDTO> type, Collection<Expression<?>> columns) {
+        return Projections.bean(type, columns.toArray(Expression<?>[]::new));
+    }
+
+    private static Map<String, Expression<?>> columns() {
+        Map<String, Expression<?>> columns = new LinkedHashMap<>();
+        columns.put("id", Q_USER.id);
+        columns.put("username", Q_USER.username);
+        columns.put("email", Q_USER.email);
+        columns.put("fullName", Q_USER.fullName);
+        columns.put("phoneNumber", Q_USER.phoneNumber);
+        columns.put("status", Q_USER.status);
+        columns.put("age", Q_USER.age);
+        columns.put("address", Q_USER.address);
+        columns.put("avatarUrl", Q_USER.avatarUrl);
+        columns.put("createdAt", Q_USER.createdAt);
+        columns.put("createdBy", Q_USER.createdBy);
+        columns.put("updatedAt", Q_USER.updatedAt);
+        columns.put("updatedBy", Q_USER.updatedBy);
+        columns.put("version", Q_USER.version);
+        columns.put("deleted", Q_USER.deleted);
+        return columns;
+    }
+}
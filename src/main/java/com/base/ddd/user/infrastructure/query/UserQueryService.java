@@ -7,6 +7,7 @@ import com.base.ddd.user.application.dto.UserQuery;
 import com.base.ddd.user.domain.model.UserStatus;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * User Query Service Interface
@@ -18,6 +19,12 @@ public interface UserQueryService {
 
     PageResponse<UserDTO> filter(UserQuery query);
 
+    /**
+     * Stream all users matching the query (sorted as requested, paging ignored) to the sink
+     * @return number of rows written
+     */
+    long export(UserQuery query, Consumer<UserDTO> sink);
+
     List<UserDTO> searchByKeyword(String keyword);
 
     UserDTO findByEmail(String email);
@@ -1,25 +1,55 @@
 package com.base.ddd.user.infrastructure.query;
 
+import com.base.configuration.property.ExportProperties;
+import com.base.ddd.shared.exception.ValidationException;
+import com.base.ddd.shared.infrastructure.KeysetCursor;
 import com.base.ddd.shared.infrastructure.PageResponse;
 import com.base.ddd.shared.infrastructure.SearchRequest;
 import com.base.ddd.user.application.dto.UserDTO;
 import com.base.ddd.user.application.dto.UserQuery;
 import com.base.ddd.user.domain.model.UserStatus;
+import com.base.ddd.user.domain.model.UserStatusCounts;
 import com.base.ddd.user.infrastructure.persistence.entity.QUserJpaEntity;
-import com.base.ddd.user.infrastructure.persistence.entity.UserJpaEntity;
+import com.base.ddd.user.infrastructure.search.UserSearchIndex;
+import com.base.shared.paging.PageTotal;
+import com.base.shared.paging.PageTotalResolver;
+import com.base.shared.paging.PredicateFingerprint;
+import com.base.shared.query.QueryShape;
+import com.base.shared.query.QueryShapeRecorder;
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Ops;
 import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.Wildcard;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * User Query Service Implementation
@@ -30,7 +60,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserQueryServiceImpl implements UserQueryService {
 
+    private static final String COUNT_NAMESPACE = "users";
+
+    // Values listed per facet (createdBy can have many)
+    private static final int MAX_FACET_VALUES = 50;
+
     private final JPAQueryFactory queryFactory;
+    private final PageTotalResolver pageTotalResolver;
+    private final UserSearchIndex userSearchIndex;
+    private final QueryShapeRecorder queryShapeRecorder;
+    private final ExportProperties exportProperties;
+    private final UserStatusCounters userStatusCounters;
 
     @Override
     @Transactional(readOnly = true)
@@ -39,6 +79,7 @@ public class UserQueryServiceImpl implements UserQueryService {
 
         BooleanBuilder builder = new BooleanBuilder();
         builder.and(qUser.deleted.eq(false));
+        QueryShape.Builder shape = QueryShape.of("users.search");
 
         // Search by keyword in multiple fields
         if (searchRequest.hasKeyword()) {
@@ -52,58 +93,143 @@ public class UserQueryServiceImpl implements UserQueryService {
                         case "email" -> keywordBuilder.or(qUser.email.containsIgnoreCase(keyword));
                         case "fullName" -> keywordBuilder.or(qUser.fullName.containsIgnoreCase(keyword));
                         case "phoneNumber" -> keywordBuilder.or(qUser.phoneNumber.containsIgnoreCase(keyword));
+                        default -> {
+                            continue;
+                        }
                     }
+                    shape.filter(field, "~");
                 }
             } else {
+                shape.filter("keyword", "~");
                 // Default search fields
                 keywordBuilder.or(qUser.username.containsIgnoreCase(keyword))
                         .or(qUser.email.containsIgnoreCase(keyword))
                         .or(qUser.fullName.containsIgnoreCase(keyword));
             }
 
-            builder.and(keywordBuilder);
+            builder.and(keywordPredicate(keyword, keywordBuilder, qUser));
         }
 
-        // Count total
-        long total = queryFactory
-                .selectFrom(qUser)
-                .where(builder)
-                .fetchCount();
+        return fetchPage(builder, searchRequest, shape);
+    }
 
-        // Build query
-        JPAQuery<UserJpaEntity> query = queryFactory
-                .selectFrom(qUser)
-                .where(builder);
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserDTO> filter(UserQuery query) {
+        Set<UserFacet> facets = UserFacet.parse(query.getFacets());
+        QueryShape.Builder shape = QueryShape.of("users.filter");
+        Predicate where = filterPredicate(query, shape);
 
-        // Apply sorting
-        List<OrderSpecifier<?>> orders = buildOrderSpecifiers(searchRequest, qUser);
-        for (OrderSpecifier<?> order : orders) {
-            query.orderBy(order);
+        PageResponse<UserDTO> page = fetchPage(where, query, shape);
+        if (!facets.isEmpty()) {
+            page.setFacets(countFacets(where, query, facets));
         }
-
-        // Apply pagination
-        List<UserJpaEntity> entities = query
-                .offset((long) searchRequest.getValidPage() * searchRequest.getValidSize())
-                .limit(searchRequest.getValidSize())
-                .fetch();
-
-        // Convert to DTO
-        List<UserDTO> content = entities.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-
-        return PageResponse.of(
-                new org.springframework.data.domain.PageImpl<>(
-                        content,
-                        PageRequest.of(searchRequest.getValidPage(), searchRequest.getValidSize()),
-                        total
-                )
-        );
+        return page;
     }
 
+    /**
+     * Stream every matching row to the sink without materializing the result.
+     * Rows are DTO projections, so nothing is attached to the persistence context while streaming.
+     */
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<UserDTO> filter(UserQuery query) {
+    public long export(UserQuery query, Consumer<UserDTO> sink) {
+        QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
+        QueryShape.Builder shape = QueryShape.of("users.export");
+        Predicate where = filterPredicate(query, shape);
+        List<SortKey> sortKeys = buildSortKeys(query);
+        sortKeys.forEach(key -> shape.sort(key.field().fieldName(), key.desc()));
+
+        return queryShapeRecorder.record(shape.build(), () -> {
+            long rows = 0;
+            try (Stream<UserDTO> stream = queryFactory
+                    .select(UserProjection.of(query.getFields(), List.of()))
+                    .from(qUser)
+                    .where(where)
+                    .orderBy(toOrderSpecifiers(sortKeys, false, qUser))
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, exportProperties.getFetchSize())
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .stream()) {
+                Iterator<UserDTO> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    sink.accept(iterator.next());
+                    rows++;
+                }
+            }
+            return rows;
+        }, rows -> (int) Math.min(rows, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Facet counts from one GROUP BY over the requested facet columns, rolled up per facet.
+     * Status and deleted facets of an unfiltered query are read from the in-memory counters instead.
+     */
+    private Map<String, List<PageResponse.FacetValue>> countFacets(Predicate where, UserQuery query,
+                                                                  Set<UserFacet> facets) {
+        Map<UserFacet, Map<String, Long>> counts = new EnumMap<>(UserFacet.class);
+
+        if (!hasCriteria(query) && userStatusCounters.isSeeded()
+                && EnumSet.of(UserFacet.STATUS, UserFacet.DELETED).containsAll(facets)) {
+            boolean deleted = Boolean.TRUE.equals(query.getDeleted());
+            UserStatusCounts snapshot = userStatusCounters.snapshot();
+            for (UserStatus status : UserStatus.values()) {
+                long count = deleted ? snapshot.countDeleted(status) : snapshot.count(status);
+                if (count > 0) {
+                    counts.computeIfAbsent(UserFacet.STATUS, facet -> new HashMap<>()).put(status.name(), count);
+                }
+            }
+            counts.computeIfAbsent(UserFacet.DELETED, facet -> new HashMap<>())
+                    .put(String.valueOf(deleted), deleted ? snapshot.totalDeleted() : snapshot.total());
+        } else {
+            QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
+            List<UserFacet> dimensions = List.copyOf(facets);
+            Expression<?>[] columns = dimensions.stream().map(UserFacet::column).toArray(Expression<?>[]::new);
+            Expression<?>[] select = Arrays.copyOf(columns, columns.length + 1);
+            select[columns.length] = Wildcard.count;
+
+            QueryShape.Builder shape = QueryShape.of("users.facets");
+            dimensions.forEach(facet -> shape.option(facet.facetName()));
+            List<Tuple> rows = queryShapeRecorder.record(shape.build(),
+                    () -> queryFactory.select(select).from(qUser).where(where).groupBy(columns).fetch(),
+                    List::size);
+
+            for (Tuple row : rows) {
+                Long count = row.get(Wildcard.count);
+                for (int i = 0; i < dimensions.size(); i++) {
+                    UserFacet facet = dimensions.get(i);
+                    counts.computeIfAbsent(facet, key -> new HashMap<>())
+                            .merge(facet.label(row.get(i, Object.class)), count, Long::sum);
+                }
+            }
+        }
+
+        Map<String, List<PageResponse.FacetValue>> result = new LinkedHashMap<>();
+        for (UserFacet facet : facets) {
+            result.put(facet.facetName(), counts.getOrDefault(facet, Map.of()).entrySet().stream()
+                    .sorted(facet.order())
+                    .limit(MAX_FACET_VALUES)
+                    .map(entry -> new PageResponse.FacetValue(entry.getKey(), entry.getValue()))
+                    .toList());
+        }
+        return result;
+    }
+
+    /**
+     * Whether the query narrows the result beyond the deleted flag
+     */
+    private static boolean hasCriteria(UserQuery query) {
+        return query.hasKeyword()
+                || Stream.of(query.getUsername(), query.getEmail(), query.getFullName(), query.getStatus(),
+                        query.getPhoneNumber(), query.getCreatedBy(), query.getUpdatedBy())
+                .anyMatch(value -> value != null && !value.isBlank())
+                || query.getMinAge() != null
+                || query.getMaxAge() != null;
+    }
+
+    /**
+     * Predicate for the {@link UserQuery} criteria, shared by filter and export
+     */
+    private Predicate filterPredicate(UserQuery query, QueryShape.Builder shape) {
         QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
 
         BooleanBuilder builder = new BooleanBuilder();
@@ -111,6 +237,7 @@ public class UserQueryServiceImpl implements UserQueryService {
         // Filter deleted
         if (query.getDeleted() != null) {
             builder.and(qUser.deleted.eq(query.getDeleted()));
+            shape.filter("deleted", "=");
         } else {
             builder.and(qUser.deleted.eq(false));
         }
@@ -118,91 +245,67 @@ public class UserQueryServiceImpl implements UserQueryService {
         // Filter by username
         if (query.getUsername() != null && !query.getUsername().isBlank()) {
             builder.and(qUser.username.containsIgnoreCase(query.getUsername()));
+            shape.filter("username", "~");
         }
 
         // Filter by email
         if (query.getEmail() != null && !query.getEmail().isBlank()) {
             builder.and(qUser.email.containsIgnoreCase(query.getEmail()));
+            shape.filter("email", "~");
         }
 
         // Filter by full name
         if (query.getFullName() != null && !query.getFullName().isBlank()) {
             builder.and(qUser.fullName.containsIgnoreCase(query.getFullName()));
+            shape.filter("fullName", "~");
         }
 
         // Filter by status
         if (query.getStatus() != null && !query.getStatus().isBlank()) {
             builder.and(qUser.status.eq(query.getStatus()));
+            shape.filter("status", "=");
         }
 
         // Filter by age range
         if (query.getMinAge() != null) {
             builder.and(qUser.age.goe(query.getMinAge()));
+            shape.filter("age", ">=");
         }
         if (query.getMaxAge() != null) {
             builder.and(qUser.age.loe(query.getMaxAge()));
+            shape.filter("age", "<=");
         }
 
         // Filter by phone
         if (query.getPhoneNumber() != null && !query.getPhoneNumber().isBlank()) {
             builder.and(qUser.phoneNumber.containsIgnoreCase(query.getPhoneNumber()));
+            shape.filter("phoneNumber", "~");
         }
 
         // Filter by created by
         if (query.getCreatedBy() != null && !query.getCreatedBy().isBlank()) {
             builder.and(qUser.createdBy.eq(query.getCreatedBy()));
+            shape.filter("createdBy", "=");
         }
 
         // Filter by updated by
         if (query.getUpdatedBy() != null && !query.getUpdatedBy().isBlank()) {
             builder.and(qUser.updatedBy.eq(query.getUpdatedBy()));
+            shape.filter("updatedBy", "=");
         }
 
         // Search by keyword
         if (query.hasKeyword()) {
             String keyword = query.getKeyword().toLowerCase();
-            builder.and(
+            builder.and(keywordPredicate(keyword,
                     qUser.username.containsIgnoreCase(keyword)
                             .or(qUser.email.containsIgnoreCase(keyword))
-                            .or(qUser.fullName.containsIgnoreCase(keyword))
-            );
-        }
-
-        // Count total
-        long total = queryFactory
-                .selectFrom(qUser)
-                .where(builder)
-                .fetchCount();
-
-        // Build query
-        JPAQuery<UserJpaEntity> query2 = queryFactory
-                .selectFrom(qUser)
-                .where(builder);
-
-        // Apply sorting
-        List<OrderSpecifier<?>> orders = buildOrderSpecifiers(query, qUser);
-        for (OrderSpecifier<?> order : orders) {
-            query2.orderBy(order);
+                            .or(qUser.fullName.containsIgnoreCase(keyword)),
+                    qUser));
+            shape.filter("keyword", "~");
         }
 
-        // Apply pagination
-        List<UserJpaEntity> entities = query2
-                .offset((long) query.getValidPage() * query.getValidSize())
-                .limit(query.getValidSize())
-                .fetch();
-
-        // Convert to DTO
-        List<UserDTO> content = entities.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-
-        return PageResponse.of(
-                new org.springframework.data.domain.PageImpl<>(
-                        content,
-                        PageRequest.of(query.getValidPage(), query.getValidSize()),
-                        total
-                )
-        );
+        return builder;
     }
 
     @Override
@@ -210,18 +313,16 @@ public class UserQueryServiceImpl implements UserQueryService {
     public List<UserDTO> searchByKeyword(String keyword) {
         QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
 
-        List<UserJpaEntity> entities = queryFactory
-                .selectFrom(qUser)
-                .where(qUser.deleted.eq(false)
-                        .and(qUser.fullName.containsIgnoreCase(keyword)
+        return queryFactory
+                .select(UserProjection.all())
+                .from(qUser)
+                .where(qUser.deleted.eq(false), keywordPredicate(keyword,
+                        qUser.fullName.containsIgnoreCase(keyword)
                                 .or(qUser.email.containsIgnoreCase(keyword))
-                                .or(qUser.username.containsIgnoreCase(keyword))))
+                                .or(qUser.username.containsIgnoreCase(keyword)),
+                        qUser))
                 .orderBy(qUser.createdAt.desc())
                 .fetch();
-
-        return entities.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
     }
 
     @Override
@@ -229,12 +330,11 @@ public class UserQueryServiceImpl implements UserQueryService {
     public UserDTO findByEmail(String email) {
         QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
 
-        UserJpaEntity entity = queryFactory
-                .selectFrom(qUser)
+        return queryFactory
+                .select(UserProjection.all())
+                .from(qUser)
                 .where(qUser.email.eq(email).and(qUser.deleted.eq(false)))
                 .fetchOne();
-
-        return toDTO(entity);
     }
 
     @Override
@@ -242,12 +342,11 @@ public class UserQueryServiceImpl implements UserQueryService {
     public UserDTO findByUsername(String username) {
         QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
 
-        UserJpaEntity entity = queryFactory
-                .selectFrom(qUser)
+        return queryFactory
+                .select(UserProjection.all())
+                .from(qUser)
                 .where(qUser.username.eq(username).and(qUser.deleted.eq(false)))
                 .fetchOne();
-
-        return toDTO(entity);
     }
 
     @Override
@@ -255,20 +354,20 @@ public class UserQueryServiceImpl implements UserQueryService {
     public List<UserDTO> findByStatus(UserStatus status) {
         QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
 
-        List<UserJpaEntity> entities = queryFactory
-                .selectFrom(qUser)
+        return queryFactory
+                .select(UserProjection.all())
+                .from(qUser)
                 .where(qUser.status.eq(status.name()).and(qUser.deleted.eq(false)))
                 .orderBy(qUser.createdAt.desc())
                 .fetch();
-
-        return entities.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public long countByStatus(UserStatus status) {
+        if (userStatusCounters.isSeeded()) {
+            return userStatusCounters.snapshot().count(status);
+        }
         QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
 
         return queryFactory
@@ -280,6 +379,9 @@ public class UserQueryServiceImpl implements UserQueryService {
     @Override
     @Transactional(readOnly = true)
     public long countTotal() {
+        if (userStatusCounters.isSeeded()) {
+            return userStatusCounters.snapshot().total();
+        }
         QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
 
         return queryFactory
@@ -291,70 +393,248 @@ public class UserQueryServiceImpl implements UserQueryService {
     @Override
     @Transactional(readOnly = true)
     public long countActive() {
+        return countByStatus(UserStatus.ACTIVE);
+    }
+
+    /**
+     * Fetch one page with offset or keyset pagination, depending on the request,
+     * timed under the query's shape
+     */
+    private PageResponse<UserDTO> fetchPage(Predicate where, SearchRequest request, QueryShape.Builder shape) {
+        List<SortKey> sortKeys = request.isKeysetMode() ? withIdTieBreaker(buildSortKeys(request)) : buildSortKeys(request);
+
+        sortKeys.forEach(key -> shape.sort(key.field().fieldName(), key.desc()));
+        shape.option(request.isKeysetMode() ? (request.hasBefore() ? "keyset:before" : "keyset") : "offset");
+        shape.option("count:" + request.getCountPolicy().name().toLowerCase());
+        if (request.getFields() != null && !request.getFields().isEmpty()) {
+            shape.option("sparse");
+        }
+
+        return queryShapeRecorder.record(shape.build(),
+                () -> request.isKeysetMode()
+                        ? fetchKeysetPage(where, request, sortKeys)
+                        : fetchOffsetPage(where, request, sortKeys),
+                page -> page.getContent().size());
+    }
+
+    private PageResponse<UserDTO> fetchOffsetPage(Predicate where, SearchRequest request, List<SortKey> sortKeys) {
+        QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
+        int page = request.getValidPage();
+        int size = request.getValidSize();
+        long offset = (long) page * size;
+        LongSupplier counter = pageTotalResolver.prefetch(request.getCountPolicy(), offset == 0,
+                () -> PredicateFingerprint.of(COUNT_NAMESPACE, where), () -> countWhere(where));
+
+        // Apply sorting and pagination, one extra row tells whether a next page exists
+        List<UserDTO> content = queryFactory
+                .select(UserProjection.of(request.getFields(), List.of()))
+                .from(qUser)
+                .where(where)
+                .orderBy(toOrderSpecifiers(sortKeys, false, qUser))
+                .offset(offset)
+                .limit(size + 1L)
+                .fetch();
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+
+        PageTotal total = pageTotalResolver.resolve(request.getCountPolicy(), offset, content.size(), hasNext,
+                () -> PredicateFingerprint.of(COUNT_NAMESPACE, where), counter);
+
+        return PageResponse.of(content, page, size, total, hasNext);
+    }
+
+    /**
+     * Keyset (seek) pagination: instead of OFFSET, continue from the sort key values of the
+     * boundary row. With the id tie-breaker the default order (created_at, id) is served by
+     * idx_users_created_at (InnoDB secondary indexes carry the primary key), so every page
+     * costs the same as the first one.
+     */
+    private PageResponse<UserDTO> fetchKeysetPage(Predicate where, SearchRequest request, List<SortKey> sortKeys) {
+        QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
+        int size = request.getValidSize();
+        boolean backward = request.hasBefore();
+        String signature = sortSignature(sortKeys);
+
+        KeysetCursor cursor = null;
+        if (backward) {
+            cursor = KeysetCursor.decode(request.getBefore()).requireSignature(signature);
+        } else if (request.hasAfter()) {
+            cursor = KeysetCursor.decode(request.getAfter()).requireSignature(signature);
+        }
+
+        LongSupplier counter = pageTotalResolver.prefetch(request.getCountPolicy(), cursor == null,
+                () -> PredicateFingerprint.of(COUNT_NAMESPACE, where), () -> countWhere(where));
+
+        // Cursors are built from the sort key values, so those columns are always selected
+        List<String> required = sortKeys.stream().map(key -> key.field().fieldName()).toList();
+        JPAQuery<UserDTO> query = queryFactory
+                .select(UserProjection.of(request.getFields(), required))
+                .from(qUser)
+                .where(where);
+        if (cursor != null) {
+            query.where(seekPredicate(sortKeys, cursor.getValues(), backward, qUser));
+        }
+
+        // Fetch one extra row to know whether there is another page in the scan direction
+        List<UserDTO> rows = query
+                .orderBy(toOrderSpecifiers(sortKeys, backward, qUser))
+                .limit(size + 1L)
+                .fetch();
+
+        boolean more = rows.size() > size;
+        List<UserDTO> content = new ArrayList<>(more ? rows.subList(0, size) : rows);
+        if (backward) {
+            Collections.reverse(content);
+        }
+
+        boolean hasNext = backward || more;
+        boolean hasPrevious = backward ? more : cursor != null;
+
+        String nextCursor = hasNext && !content.isEmpty()
+                ? toCursor(content.get(content.size() - 1), sortKeys, signature)
+                : null;
+        String previousCursor = hasPrevious && !content.isEmpty()
+                ? toCursor(content.get(0), sortKeys, signature)
+                : null;
+
+        PageTotal total = cursor == null
+                ? pageTotalResolver.resolve(request.getCountPolicy(), 0, content.size(), more,
+                        () -> PredicateFingerprint.of(COUNT_NAMESPACE, where), counter)
+                : pageTotalResolver.resolve(request.getCountPolicy(), false,
+                        () -> PredicateFingerprint.of(COUNT_NAMESPACE, where), counter);
+
+        return PageResponse.ofKeyset(content, size, total, nextCursor, previousCursor);
+    }
+
+    /**
+     * Keyword match: when the search index resolves candidate ids, the LIKE predicates only
+     * run on those rows (fetched by primary key) instead of scanning the table
+     */
+    private Predicate keywordPredicate(String keyword, Predicate like, QUserJpaEntity qUser) {
+        return userSearchIndex.findCandidates(keyword)
+                .<Predicate>map(ids -> ids.isEmpty() ? Expressions.FALSE.isTrue() : qUser.id.in(ids).and(like))
+                .orElse(like);
+    }
+
+    private long countWhere(Predicate where) {
         QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
 
         return queryFactory
                 .selectFrom(qUser)
-                .where(qUser.status.eq("ACTIVE").and(qUser.deleted.eq(false)))
+                .where(where)
                 .fetchCount();
     }
 
-    private List<OrderSpecifier<?>> buildOrderSpecifiers(SearchRequest request, QUserJpaEntity qUser) {
-        List<OrderSpecifier<?>> orders = new ArrayList<>();
+    /**
+     * Rows strictly after the cursor in scan order:
+     * (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ... with the id as the last, unique key
+     */
+    private Predicate seekPredicate(List<SortKey> sortKeys, List<String> values, boolean backward,
+                                    QUserJpaEntity qUser) {
+        if (values.size() != sortKeys.size()) {
+            throw new ValidationException("Invalid pagination cursor");
+        }
+
+        BooleanBuilder seek = new BooleanBuilder();
+        BooleanBuilder equalPrefix = new BooleanBuilder();
+
+        for (int i = 0; i < sortKeys.size(); i++) {
+            SortKey key = sortKeys.get(i);
+            ComparableExpressionBase<?> path = key.field().path(qUser);
+            Object value = parseCursorValue(key.field(), values.get(i));
+
+            BooleanExpression beyond = beyond(path, value, key.desc() != backward);
+            if (beyond != null) {
+                seek.or(new BooleanBuilder(equalPrefix).and(beyond));
+            }
+
+            equalPrefix.and(value == null
+                    ? path.isNull()
+                    : Expressions.booleanOperation(Ops.EQ, path, Expressions.constant(value)));
+        }
+
+        return seek;
+    }
+
+    /**
+     * Values after {@code value} in the given direction, following MySQL's
+     * NULL ordering (NULLs first when ascending, last when descending)
+     */
+    private BooleanExpression beyond(ComparableExpressionBase<?> path, Object value, boolean descending) {
+        if (!descending) {
+            return value == null
+                    ? path.isNotNull()
+                    : Expressions.booleanOperation(Ops.GT, path, Expressions.constant(value));
+        }
+        return value == null
+                ? null
+                : Expressions.booleanOperation(Ops.LT, path, Expressions.constant(value)).or(path.isNull());
+    }
+
+    private Object parseCursorValue(UserSortField field, String value) {
+        try {
+            return field.parse(value);
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid pagination cursor");
+        }
+    }
+
+    private String toCursor(UserDTO row, List<SortKey> sortKeys, String signature) {
+        List<String> values = new ArrayList<>(sortKeys.size());
+        for (SortKey key : sortKeys) {
+            values.add(key.field().extract(row));
+        }
+        return KeysetCursor.of(signature, values).encode();
+    }
+
+    private String sortSignature(List<SortKey> sortKeys) {
+        return sortKeys.stream()
+                .map(key -> key.field().fieldName() + (key.desc() ? ":desc" : ":asc"))
+                .collect(Collectors.joining(","));
+    }
+
+    private List<SortKey> buildSortKeys(SearchRequest request) {
+        List<SortKey> sortKeys = new ArrayList<>();
 
         if (request.getSorts() != null && !request.getSorts().isEmpty()) {
             for (SearchRequest.SortRequest sort : request.getSorts()) {
-                OrderSpecifier<?> order = buildOrderSpecifier(sort.getField(),
-                        sort.getDirection() != null && sort.getDirection() == org.springframework.data.domain.Sort.Direction.DESC,
-                        qUser);
-                if (order != null) {
-                    orders.add(order);
+                UserSortField field = UserSortField.fromName(sort.getField());
+                if (field != null) {
+                    sortKeys.add(new SortKey(field, sort.getDirection() == Sort.Direction.DESC));
                 }
             }
         }
 
-        if (orders.isEmpty()) {
-            orders.add(qUser.createdAt.desc());
+        if (sortKeys.isEmpty()) {
+            sortKeys.add(new SortKey(UserSortField.CREATED_AT, true));
         }
 
-        return orders;
+        return sortKeys;
     }
 
-    private OrderSpecifier<?> buildOrderSpecifier(String field, boolean desc, QUserJpaEntity qUser) {
-        return switch (field) {
-            case "id" -> desc ? qUser.id.desc() : qUser.id.asc();
-            case "username" -> desc ? qUser.username.desc() : qUser.username.asc();
-            case "email" -> desc ? qUser.email.desc() : qUser.email.asc();
-            case "fullName" -> desc ? qUser.fullName.desc() : qUser.fullName.asc();
-            case "status" -> desc ? qUser.status.desc() : qUser.status.asc();
-            case "age" -> desc ? qUser.age.desc() : qUser.age.asc();
-            case "createdAt" -> desc ? qUser.createdAt.desc() : qUser.createdAt.asc();
-            case "updatedAt" -> desc ? qUser.updatedAt.desc() : qUser.updatedAt.asc();
-            default -> null;
-        };
+    /**
+     * Keyset pagination needs a unique order, so the id is always the last key
+     */
+    private List<SortKey> withIdTieBreaker(List<SortKey> sortKeys) {
+        if (sortKeys.stream().anyMatch(key -> key.field() == UserSortField.ID)) {
+            return sortKeys;
+        }
+        List<SortKey> keys = new ArrayList<>(sortKeys);
+        keys.add(new SortKey(UserSortField.ID, sortKeys.get(sortKeys.size() - 1).desc()));
+        return keys;
     }
 
-    private UserDTO toDTO(UserJpaEntity entity) {
-        if (entity == null) {
-            return null;
-        }
+    private OrderSpecifier<?>[] toOrderSpecifiers(List<SortKey> sortKeys, boolean reversed, QUserJpaEntity qUser) {
+        return sortKeys.stream()
+                .map(key -> key.desc() != reversed
+                        ? key.field().path(qUser).desc()
+                        : key.field().path(qUser).asc())
+                .toArray(OrderSpecifier<?>[]::new);
+    }
 
-        return UserDTO.builder()
-                .id(entity.getId())
-                .username(entity.getUsername())
-                .email(entity.getEmail())
-                .fullName(entity.getFullName())
-                .phoneNumber(entity.getPhoneNumber())
-                .status(entity.getStatus())
-                .age(entity.getAge())
-                .address(entity.getAddress())
-                .avatarUrl(entity.getAvatarUrl())
-                .createdAt(entity.getCreatedAt())
-                .createdBy(entity.getCreatedBy())
-                .updatedAt(entity.getUpdatedAt())
-                .updatedBy(entity.getUpdatedBy())
-                .version(entity.getVersion())
-                .deleted(entity.getDeleted())
-                .build();
+    private record SortKey(UserSortField field, boolean desc) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package com.base.ddd.user.infrastructure.query;
+
+import com.base.ddd.user.application.dto.UserDTO;
+import com.base.ddd.user.infrastructure.persistence.entity.QUserJpaEntity;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sortable user columns
+ * Knows the QueryDSL path, how to read the value from a row and how to parse it back from a cursor
+ */
+enum UserSortField {
+
+    ID("id", q -> q.id, UserDTO::getId, Long::valueOf),
+    USERNAME("username", q -> q.username, UserDTO::getUsername, value -> value),
+    EMAIL("email", q -> q.email, UserDTO::getEmail, value -> value),
+    FULL_NAME("fullName", q -> q.fullName, UserDTO::getFullName, value -> value),
+    STATUS("status", q -> q.status, UserDTO::getStatus, value -> value),
+    AGE("age", q -> q.age, UserDTO::getAge, Integer::valueOf),
+    CREATED_AT("createdAt", q -> q.createdAt, UserDTO::getCreatedAt, LocalDateTime::parse),
+    UPDATED_AT("updatedAt", q -> q.updatedAt, UserDTO::getUpdatedAt, LocalDateTime::parse);
+
+    private static final Map<String, UserSortField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(UserSortField::fieldName, Function.identity()));
+
+    private final String fieldName;
+    private final Function<QUserJpaEntity, ComparableExpressionBase<?>> path;
+    private final Function<UserDTO, Object> extractor;
+    private final Function<String, Object> parser;
+
+    UserSortField(String fieldName,
+                  Function<QUserJpaEntity, ComparableExpressionBase<?>> path,
+                  Function<UserDTO, Object> extractor,
+                  Function<String, Object> parser) {
+        this.fieldName = fieldName;
+        this.path = path;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    static UserSortField fromName(String fieldName) {
+        return fieldName != null ? BY_NAME.get(fieldName) : null;
+    }
+
+    String fieldName() {
+        return fieldName;
+    }
+
+    ComparableExpressionBase<?> path(QUserJpaEntity qUser) {
+        return path.apply(qUser);
+    }
+
+    /**
+     * Cursor representation of the row's value (null stays null)
+     */
+    String extract(UserDTO row) {
+        Object value = extractor.apply(row);
+        return value != null ? value.toString() : null;
+    }
+
+    Object parse(String value) {
+        return value != null ? parser.apply(value) : null;
+    }
+}
@@ -0,0 +1,157 @@
+package com.base.ddd.user.infrastructure.query;
+
+import com.base.ddd.shared.domain.DomainEvent;
+import com.base.ddd.shared.domain.DomainEventPublisher;
+import com.base.ddd.user.domain.event.UserCreatedEvent;
+import com.base.ddd.user.domain.event.UserDeletedEvent;
+import com.base.ddd.user.domain.event.UserRestoredEvent;
+import com.base.ddd.user.domain.event.UserStatusChangedEvent;
+import com.base.ddd.user.domain.model.UserStatus;
+import com.base.ddd.user.domain.model.UserStatusCounts;
+import com.base.ddd.user.domain.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory user counters per status and deleted flag
+ * Seeded from one GROUP BY query at startup, kept current from domain events
+ * and periodically reconciled against the database (hard deletes and bulk SQL bypass the events)
+ * Events are applied once per eventId, so an at-least-once redelivery within the last
+ * {@value #RECENT_EVENTS} events does not count twice
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStatusCounters {
+
+    private static final UserStatus[] STATUSES = UserStatus.values();
+    private static final int RECENT_EVENTS = 10_000;
+
+    private final UserRepository userRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    // [status.ordinal() * 2 + (deleted ? 1 : 0)]
+    private final AtomicLongArray counters = new AtomicLongArray(STATUSES.length * 2);
+    private volatile boolean seeded;
+
+    // Ids of the last applied events, oldest evicted first; guarded by itself
+    private final Map<String, Boolean> recentEvents = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > RECENT_EVENTS;
+        }
+    };
+
+    @PostConstruct
+    void register() {
+        eventPublisher.subscribe(UserCreatedEvent.class, event -> {
+            if (firstDelivery(event)) add(event.getStatus(), false, 1);
+        });
+        eventPublisher.subscribe(UserStatusChangedEvent.class, event -> {
+            if (!firstDelivery(event)) return;
+            add(event.getOldStatus(), false, -1);
+            add(event.getNewStatus(), false, 1);
+        });
+        eventPublisher.subscribe(UserDeletedEvent.class, event -> {
+            if (!firstDelivery(event)) return;
+            add(event.getStatus(), false, -1);
+            add(event.getStatus(), true, 1);
+        });
+        eventPublisher.subscribe(UserRestoredEvent.class, event -> {
+            if (!firstDelivery(event)) return;
+            add(event.getStatus(), true, -1);
+            add(event.getStatus(), false, 1);
+        });
+
+        for (UserStatus status : STATUSES) {
+            for (boolean deleted : new boolean[]{false, true}) {
+                Gauge.builder("app.users.count", counters, c -> c.get(index(status, deleted)))
+                        .description("Users per status (in-memory counters)")
+                        .tag("status", status.name())
+                        .tag("deleted", String.valueOf(deleted))
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Replace the counters with the database figures, logging any drift
+     */
+    @Scheduled(fixedDelayString = "${app.user-stats.reconcile-interval:PT5M}",
+            initialDelayString = "${app.user-stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        UserStatusCounts actual;
+        try {
+            actual = userRepository.countByStatusAndDeleted();
+        } catch (RuntimeException e) {
+            log.warn("User counters reconciliation failed: {}", e.getMessage());
+            return;
+        }
+
+        for (UserStatus status : STATUSES) {
+            long live = counters.getAndSet(index(status, false), actual.count(status));
+            long deleted = counters.getAndSet(index(status, true), actual.countDeleted(status));
+            if (seeded && (live != actual.count(status) || deleted != actual.countDeleted(status))) {
+                log.info("User counter drift for {}: live {} -> {}, deleted {} -> {}",
+                        status, live, actual.count(status), deleted, actual.countDeleted(status));
+            }
+        }
+        seeded = true;
+    }
+
+    /**
+     * Whether the counters hold database figures yet; callers fall back to COUNT queries otherwise
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public UserStatusCounts snapshot() {
+        UserStatusCounts.Builder builder = UserStatusCounts.builder();
+        for (UserStatus status : STATUSES) {
+            builder.add(status, false, Math.max(0, counters.get(index(status, false))));
+            builder.add(status, true, Math.max(0, counters.get(index(status, true))));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Records the event id; false when the same event was already applied (a redelivery)
+     */
+    private boolean firstDelivery(DomainEvent event) {
+        synchronized (recentEvents) {
+            if (recentEvents.putIfAbsent(event.getEventId(), Boolean.TRUE) == null) {
+                return true;
+            }
+        }
+        log.debug("Ignoring redelivered {} {}", event.getEventType(), event.getEventId());
+        return false;
+    }
+
+    private void add(UserStatus status, boolean deleted, long delta) {
+        if (status != null) {
+            counters.addAndGet(index(status, deleted), delta);
+        }
+    }
+
+    private static int index(UserStatus status, boolean deleted) {
+        return status.ordinal() * 2 + (deleted ? 1 : 0);
+    }
+}
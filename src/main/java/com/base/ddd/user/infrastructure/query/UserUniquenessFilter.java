@@ -0,0 +1,287 @@
+package com.base.ddd.user.infrastructure.query;
+
+import com.base.configuration.property.UniquenessFilterProperties;
+import com.base.ddd.shared.domain.DomainEventPublisher;
+import com.base.ddd.user.domain.event.UserCreatedEvent;
+import com.base.ddd.user.domain.event.UserRestoredEvent;
+import com.base.ddd.user.domain.event.UserUpdatedEvent;
+import com.base.ddd.user.infrastructure.persistence.entity.QUserJpaEntity;
+import com.base.shared.util.BloomFilter;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Bloom filters over the usernames and emails of non-deleted users, in front of the uniqueness queries
+ * A name the filter has never seen is free without a round trip; any other answer comes from the database.
+ * Built at startup, kept current from the user domain events and rebuilt online, which also drops
+ * the names freed by soft deletes. Names taken through another instance or by plain SQL are only seen
+ * after the next rebuild; the unique keys on users still reject them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserUniquenessFilter {
+
+    public enum Key {
+        USERNAME, EMAIL
+    }
+
+    private final JPAQueryFactory queryFactory;
+    private final DomainEventPublisher eventPublisher;
+    private final UniquenessFilterProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    // Serving filters, null until the first build; a rebuild fills the next ones alongside
+    private volatile Filters active;
+    private volatile Filters building;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final Map<Key, Counter> absentCounters = new EnumMap<>(Key.class);
+    private final Map<Key, Counter> falsePositiveCounters = new EnumMap<>(Key.class);
+    private final Map<Key, Counter> presentCounters = new EnumMap<>(Key.class);
+
+    @PostConstruct
+    void register() {
+        eventPublisher.subscribe(UserCreatedEvent.class, event -> {
+            put(Key.USERNAME, event.getUsername());
+            put(Key.EMAIL, event.getEmail());
+        });
+        eventPublisher.subscribe(UserUpdatedEvent.class,
+                event -> put(Key.EMAIL, event.getEmail()));
+        // The event does not carry the email, reload both names
+        eventPublisher.subscribe(UserRestoredEvent.class,
+                event -> reload(event.getUserId().getValue()));
+
+        for (Key key : Key.values()) {
+            String tag = key.name().toLowerCase(Locale.ROOT);
+            absentCounters.put(key, check(tag, "absent"));
+            falsePositiveCounters.put(key, check(tag, "false_positive"));
+            presentCounters.put(key, check(tag, "present"));
+
+            Gauge.builder("app.users.uniqueness_filter.false_positive_rate", this,
+                            filter -> filter.observedFalsePositiveRate(key))
+                    .description("False positives among checked names that were free, since the last rebuild")
+                    .tag("key", tag)
+                    .tag("kind", "observed")
+                    .register(meterRegistry);
+            Gauge.builder("app.users.uniqueness_filter.false_positive_rate", this,
+                            filter -> filter.expectedFalsePositiveRate(key))
+                    .description("False positive probability at the current filter fill")
+                    .tag("key", tag)
+                    .tag("kind", "expected")
+                    .register(meterRegistry);
+        }
+    }
+
+    private Counter check(String key, String result) {
+        return Counter.builder("app.users.uniqueness_filter.checks")
+                .description("Uniqueness checks; result=absent is a query saved by the filter")
+                .tag("key", key)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answer an exists check, running the query only when the filter cannot rule the name out
+     */
+    public boolean exists(Key key, String value, BooleanSupplier query) {
+        Filters filters = active;
+        if (filters == null || !properties.isEnabled()) {
+            return query.getAsBoolean();
+        }
+
+        Filter filter = filters.get(key);
+        if (!filter.bloom.mightContain(normalize(value))) {
+            filter.absent.increment();
+            absentCounters.get(key).increment();
+            return false;
+        }
+
+        boolean exists = query.getAsBoolean();
+        if (exists) {
+            presentCounters.get(key).increment();
+        } else {
+            filter.falsePositives.increment();
+            falsePositiveCounters.get(key).increment();
+        }
+        return exists;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild when the filters got too full, freed names made them too inaccurate, or they are old
+     */
+    @Scheduled(fixedDelayString = "PT1M", initialDelayString = "PT1M")
+    public void rebuildIfStale() {
+        Filters filters = active;
+        if (filters == null || !properties.isEnabled()) {
+            return;
+        }
+
+        double limit = properties.getMaxFalsePositiveRate();
+        for (Key key : Key.values()) {
+            Filter filter = filters.get(key);
+            long samples = filter.absent.sum() + filter.falsePositives.sum();
+            if (filter.bloom.expectedFalsePositiveRate() > limit
+                    || (samples >= properties.getMinSamples() && observedFalsePositiveRate(key) > limit)) {
+                log.info("User {} filter is stale (expected fpp {}, observed {}), rebuilding",
+                        key, filter.bloom.expectedFalsePositiveRate(), observedFalsePositiveRate(key));
+                rebuild();
+                return;
+            }
+        }
+        if (filters.builtAt.plus(properties.getRebuildInterval()).isBefore(Instant.now())) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Build new filters from the database while the current ones keep serving, then swap them in
+     * Names taken during the scan are put into both, so the new filters miss nothing
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
+            Long users = queryFactory.select(qUser.id.count()).from(qUser).where(qUser.deleted.eq(false)).fetchOne();
+            long expected = Math.max(properties.getExpectedInsertions(), 2 * (users == null ? 0 : users));
+
+            Filters next = new Filters(expected, properties.getFalsePositiveRate());
+            building = next;
+
+            int batchSize = properties.getLoadBatchSize();
+            long lastId = 0;
+            while (true) {
+                List<Tuple> rows = queryFactory
+                        .select(qUser.id, qUser.username, qUser.email)
+                        .from(qUser)
+                        .where(qUser.deleted.eq(false), qUser.id.gt(lastId))
+                        .orderBy(qUser.id.asc())
+                        .limit(batchSize)
+                        .fetch();
+
+                for (Tuple row : rows) {
+                    next.get(Key.USERNAME).bloom.put(normalize(row.get(qUser.username)));
+                    next.get(Key.EMAIL).bloom.put(normalize(row.get(qUser.email)));
+                }
+                if (rows.size() < batchSize) {
+                    break;
+                }
+                lastId = rows.get(rows.size() - 1).get(qUser.id);
+            }
+
+            active = next;
+            log.info("User uniqueness filters built: {} names each, {} bits, {} hashes",
+                    next.get(Key.USERNAME).bloom.getInsertions(),
+                    next.get(Key.USERNAME).bloom.getBitCount(),
+                    next.get(Key.USERNAME).bloom.getHashCount());
+        } catch (RuntimeException e) {
+            log.warn("User uniqueness filter rebuild failed, keeping the current filters: {}", e.getMessage());
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    private void reload(Long id) {
+        QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
+        Tuple row = queryFactory
+                .select(qUser.username, qUser.email)
+                .from(qUser)
+                .where(qUser.id.eq(id))
+                .fetchFirst();
+        if (row != null) {
+            put(Key.USERNAME, row.get(qUser.username));
+            put(Key.EMAIL, row.get(qUser.email));
+        }
+    }
+
+    private void put(Key key, String value) {
+        if (value == null) {
+            return;
+        }
+        // building first: a rebuild swapping in between still gets the name
+        Filters next = building;
+        Filters current = active;
+        if (current != null) {
+            current.get(key).bloom.put(normalize(value));
+        }
+        if (next != null && next != current) {
+            next.get(key).bloom.put(normalize(value));
+        }
+    }
+
+    private double observedFalsePositiveRate(Key key) {
+        Filters filters = active;
+        if (filters == null) {
+            return 0;
+        }
+        Filter filter = filters.get(key);
+        long falsePositives = filter.falsePositives.sum();
+        long free = filter.absent.sum() + falsePositives;
+        return free == 0 ? 0 : (double) falsePositives / free;
+    }
+
+    private double expectedFalsePositiveRate(Key key) {
+        Filters filters = active;
+        return filters == null ? 0 : filters.get(key).bloom.expectedFalsePositiveRate();
+    }
+
+    // Usernames and emails are ASCII and compared case-insensitively by the column collation
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Filter {
+        private final BloomFilter bloom;
+        // Checks of free names since the build: ruled out by the filter / passed through to the database
+        private final LongAdder absent = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+
+        private Filter(BloomFilter bloom) {
+            this.bloom = bloom;
+        }
+    }
+
+    private static final class Filters {
+        private final Map<Key, Filter> byKey = new EnumMap<>(Key.class);
+        private final Instant builtAt = Instant.now();
+
+        private Filters(long expectedInsertions, double falsePositiveRate) {
+            for (Key key : Key.values()) {
+                byKey.put(key, new Filter(BloomFilter.create(expectedInsertions, falsePositiveRate)));
+            }
+        }
+
+        private Filter get(Key key) {
+            return byKey.get(key);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.base.ddd.user.infrastructure.search;
+
+import com.base.configuration.property.UserSearchProperties;
+import com.base.ddd.user.infrastructure.persistence.repository.UserJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * MySQL FULLTEXT backend
+ * Uses an ngram index over username, email, full_name and phone_number, so substrings match like LIKE '%kw%'
+ * The index is a schema migration (db/users-fulltext-keyword.sql), never created by the application;
+ * while it is missing, keyword search keeps the scan
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.user.backend", havingValue = "fulltext")
+public class FullTextUserSearchIndex implements UserSearchIndex {
+
+    static final String INDEX_NAME = "ft_users_keyword";
+
+    // innodb ngram_token_size defaults to 2, shorter keywords cannot be matched
+    private static final int MIN_KEYWORD_LENGTH = 2;
+
+    private final UserJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserSearchProperties properties;
+
+    private volatile boolean indexPresent;
+
+    @Override
+    public Optional<Set<Long>> findCandidates(String keyword) {
+        if (!indexPresent) {
+            return Optional.empty();
+        }
+
+        // Search the keyword as a phrase, quotes would end it early
+        String phrase = keyword.replace("\"", "").trim();
+        if (phrase.length() < MIN_KEYWORD_LENGTH) {
+            return Optional.empty();
+        }
+
+        int maxCandidates = properties.getMaxCandidates();
+        List<Long> ids = jpaRepository.findIdsByFullText("\"" + phrase + "\"", maxCandidates + 1);
+        if (ids.size() > maxCandidates) {
+            return Optional.empty();
+        }
+        return Optional.of(Set.copyOf(ids));
+    }
+
+    /**
+     * FULLTEXT ... WITH PARSER ngram cannot be declared on the JPA entity, it comes with the migration
+     * Checked once at startup: an index added later is used from the next start on
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIndex() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'users' AND index_name = ?",
+                Integer.class, INDEX_NAME);
+        indexPresent = existing != null && existing > 0;
+        if (!indexPresent) {
+            log.warn("FULLTEXT index {} missing on users (see db/users-fulltext-keyword.sql), " +
+                    "keyword search falls back to the scan", INDEX_NAME);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.base.ddd.user.infrastructure.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Default backend: no index, keyword queries keep using the LIKE predicates
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.user.backend", havingValue = "none", matchIfMissing = true)
+public class ScanUserSearchIndex implements UserSearchIndex {
+
+    @Override
+    public Optional<Set<Long>> findCandidates(String keyword) {
+        return Optional.empty();
+    }
+}
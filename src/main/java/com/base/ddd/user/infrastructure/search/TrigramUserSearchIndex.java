@@ -0,0 +1,210 @@
+package com.base.ddd.user.infrastructure.search;
+
+import com.base.configuration.property.UserSearchProperties;
+import com.base.ddd.shared.domain.DomainEvent;
+import com.base.ddd.shared.domain.DomainEventPublisher;
+import com.base.ddd.user.domain.event.UserCreatedEvent;
+import com.base.ddd.user.domain.event.UserDeletedEvent;
+import com.base.ddd.user.domain.event.UserRestoredEvent;
+import com.base.ddd.user.domain.event.UserUpdatedEvent;
+import com.base.ddd.user.infrastructure.persistence.entity.QUserJpaEntity;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process trigram inverted index
+ * Built from the users table on startup, then kept current from the user domain events this instance
+ * commits (published after commit by DomainEventDispatcher); writes of other instances are not seen
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.user.backend", havingValue = "trigram")
+public class TrigramUserSearchIndex implements UserSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final JPAQueryFactory queryFactory;
+    private final DomainEventPublisher eventPublisher;
+    private final UserSearchProperties properties;
+
+    // trigram -> ids of users having it, id -> trigrams (to unindex on update)
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> gramsById = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @PostConstruct
+    void subscribe() {
+        // One reload query per committed transaction, not per event
+        eventPublisher.subscribeBatch(DomainEvent.class, this::apply);
+    }
+
+    private void apply(List<DomainEvent> events) {
+        // Last event per user wins: deleted then restored is a reload, restored then deleted a removal
+        Map<Long, Boolean> reloads = new LinkedHashMap<>();
+        for (DomainEvent event : events) {
+            if (event instanceof UserCreatedEvent created) {
+                reloads.put(created.getUserId().getValue(), true);
+            } else if (event instanceof UserUpdatedEvent updated) {
+                reloads.put(updated.getUserId().getValue(), true);
+            } else if (event instanceof UserRestoredEvent restored) {
+                reloads.put(restored.getUserId().getValue(), true);
+            } else if (event instanceof UserDeletedEvent deleted) {
+                reloads.put(deleted.getUserId().getValue(), false);
+            }
+        }
+
+        List<Long> reloaded = new ArrayList<>();
+        reloads.forEach((id, reload) -> {
+            if (reload) {
+                reloaded.add(id);
+            } else {
+                remove(id);
+            }
+        });
+        if (!reloaded.isEmpty()) {
+            reload(QUserJpaEntity.userJpaEntity.id.in(reloaded));
+        }
+    }
+
+    @Override
+    public Optional<Set<Long>> findCandidates(String keyword) {
+        String text = normalize(keyword);
+        if (!ready || text.length() < GRAM_LENGTH) {
+            return Optional.empty();
+        }
+
+        // Intersect posting lists, smallest first
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : trigrams(text)) {
+            lists.add(postings.getOrDefault(gram, Set.of()));
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> candidates = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(lists.get(i));
+        }
+
+        if (candidates.size() > properties.getMaxCandidates()) {
+            return Optional.empty();
+        }
+        return Optional.of(candidates);
+    }
+
+    /**
+     * Index every active user in id order, in chunks
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
+        int batchSize = properties.getRebuildBatchSize();
+        long lastId = 0;
+        int indexed = 0;
+
+        while (true) {
+            List<Tuple> rows = queryFactory
+                    .select(qUser.id, qUser.username, qUser.email, qUser.fullName, qUser.phoneNumber)
+                    .from(qUser)
+                    .where(qUser.deleted.eq(false), qUser.id.gt(lastId))
+                    .orderBy(qUser.id.asc())
+                    .limit(batchSize)
+                    .fetch();
+
+            rows.forEach(this::index);
+            indexed += rows.size();
+            if (rows.size() < batchSize) {
+                break;
+            }
+            lastId = rows.get(rows.size() - 1).get(qUser.id);
+        }
+
+        ready = true;
+        log.info("User trigram index built: {} users, {} trigrams", indexed, postings.size());
+    }
+
+    private void reload(Predicate rows) {
+        QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
+        queryFactory
+                .select(qUser.id, qUser.username, qUser.email, qUser.fullName, qUser.phoneNumber)
+                .from(qUser)
+                .where(rows, qUser.deleted.eq(false))
+                .fetch()
+                .forEach(this::index);
+    }
+
+    private void index(Tuple row) {
+        QUserJpaEntity qUser = QUserJpaEntity.userJpaEntity;
+        Set<String> grams = new HashSet<>();
+        for (String value : new String[]{row.get(qUser.username), row.get(qUser.email),
+                row.get(qUser.fullName), row.get(qUser.phoneNumber)}) {
+            // Per field, so no trigram spans two fields
+            if (value != null) {
+                grams.addAll(trigrams(normalize(value)));
+            }
+        }
+        update(row.get(qUser.id), grams);
+    }
+
+    private void remove(Long id) {
+        update(id, Set.of());
+    }
+
+    /**
+     * Writers are serialized, readers only see the concurrent posting sets
+     */
+    private synchronized void update(Long id, Set<String> grams) {
+        Set<String> previous = grams.isEmpty() ? gramsById.remove(id) : gramsById.put(id, grams);
+        if (previous != null) {
+            for (String gram : previous) {
+                if (!grams.contains(gram)) {
+                    postings.computeIfPresent(gram, (key, ids) -> {
+                        ids.remove(id);
+                        return ids.isEmpty() ? null : ids;
+                    });
+                }
+            }
+        }
+        for (String gram : grams) {
+            if (previous == null || !previous.contains(gram)) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Lower case without diacritics, the column collation matches "Nguyễn" for "nguyen" as well
+     */
+    private static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").replace('đ', 'd');
+    }
+}
@@ -0,0 +1,20 @@
+package com.base.ddd.user.infrastructure.search;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keyword index for user search
+ * Resolves a keyword to candidate ids so that pages can be fetched by primary key instead of a LIKE scan
+ */
+public interface UserSearchIndex {
+
+    /**
+     * Ids of users whose username, email, full name or phone number may contain the keyword.
+     * Candidates may include false positives (callers still apply the exact predicate), never false negatives.
+     *
+     * @return empty when the index cannot answer (keyword too short, too many candidates, index not ready),
+     * the caller then falls back to scanning
+     */
+    Optional<Set<Long>> findCandidates(String keyword);
+}
@@ -2,17 +2,30 @@ package com.base.ddd.user.presentation.rest;
 
 import com.base.ddd.shared.infrastructure.PageResponse;
 import com.base.ddd.shared.infrastructure.SearchRequest;
+import com.base.ddd.user.application.dto.BulkStatusChangeResult;
 import com.base.ddd.user.application.dto.UserDTO;
+import com.base.ddd.user.application.dto.UserQuery;
+import com.base.ddd.user.application.export.UserExportFormat;
+import com.base.ddd.user.application.imports.UserImportFormat;
+import com.base.ddd.user.application.imports.UserImportJob;
 import com.base.ddd.user.application.usecase.*;
 import com.base.ddd.user.presentation.mapper.UserPresentationMapper;
+import com.base.ddd.user.presentation.rest.request.BulkChangeStatusRequest;
 import com.base.ddd.user.presentation.rest.request.CreateUserRequest;
 import com.base.ddd.user.presentation.rest.request.UpdateUserRequest;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
 
 /**
  * User REST Controller
@@ -29,6 +42,10 @@ public class UserController {
     private final DeleteUserUseCase deleteUserUseCase;
     private final RestoreUserUseCase restoreUserUseCase;
     private final SearchUserUseCase searchUserUseCase;
+    private final FilterUserUseCase filterUserUseCase;
+    private final ExportUsersUseCase exportUsersUseCase;
+    private final BulkChangeUserStatusUseCase bulkChangeUserStatusUseCase;
+    private final ImportUsersUseCase importUsersUseCase;
     private final UserPresentationMapper presentationMapper;
 
     /**
@@ -93,6 +110,19 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * Change the status of many users at once; users not allowed to move to the status are skipped
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusChangeResult> changeStatusInBulk(
+            @Valid @RequestBody BulkChangeStatusRequest request) {
+
+        log.info("REST: Bulk changing status of {} users to {}", request.getIds().size(), request.getStatus());
+
+        BulkStatusChangeResult result = bulkChangeUserStatusUseCase.execute(request.getIds(), request.getStatus());
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Search users with pagination and filters
      */
@@ -106,6 +136,76 @@ public class UserController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Filter users by criteria, optionally with facet counts (status, deleted, age, createdBy)
+     */
+    @PostMapping("/filter")
+    public ResponseEntity<PageResponse<UserDTO>> filterUsers(@RequestBody UserQuery query) {
+
+        log.info("REST: Filtering users");
+
+        PageResponse<UserDTO> result = filterUserUseCase.execute(query);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Export users matching the filter as NDJSON (default) or CSV, streamed with constant memory
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @ModelAttribute UserQuery query,
+            @RequestParam(value = "format", required = false) String format) {
+
+        log.info("REST: Exporting users");
+
+        UserExportFormat exportFormat = UserExportFormat.from(format);
+        exportUsersUseCase.validate(query);
+
+        StreamingResponseBody body = out -> exportUsersUseCase.execute(query, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"users." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Import users from an NDJSON (default) or CSV request body; runs in the background
+     */
+    @PostMapping("/import")
+    public ResponseEntity<UserImportJob> importUsers(
+            @RequestParam(value = "format", required = false) String format,
+            HttpServletRequest request) throws IOException {
+
+        log.info("REST: Importing users");
+
+        UserImportFormat importFormat = UserImportFormat.from(format, request.getContentType());
+        UserImportJob job = importUsersUseCase.start(request.getInputStream(), importFormat);
+
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQuery(null).path("/{jobId}").buildAndExpand(job.getId()).toUri())
+                .body(job);
+    }
+
+    /**
+     * Progress of an import
+     */
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<UserImportJob> getImport(@PathVariable String jobId) {
+        return ResponseEntity.ok(importUsersUseCase.get(jobId));
+    }
+
+    /**
+     * Resume a failed or interrupted (instance restarted) import from its last committed chunk
+     */
+    @PostMapping("/import/{jobId}/resume")
+    public ResponseEntity<UserImportJob> resumeImport(@PathVariable String jobId) {
+        log.info("REST: Resuming import {}", jobId);
+
+        return ResponseEntity.accepted().body(importUsersUseCase.resume(jobId));
+    }
+
     /**
      * Simple health check
      */
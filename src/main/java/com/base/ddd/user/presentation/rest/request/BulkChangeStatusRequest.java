@@ -0,0 +1,21 @@
+package com.base.ddd.user.presentation.rest.request;
+
+import com.base.ddd.user.domain.model.UserStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Bulk Change Status Request (API Layer)
+ */
+@Data
+public class BulkChangeStatusRequest {
+
+    @NotEmpty(message = "Danh sách id không được để trống")
+    private List<Long> ids;
+
+    @NotNull(message = "Trạng thái không được để trống")
+    private UserStatus status;
+}
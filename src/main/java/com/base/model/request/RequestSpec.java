@@ -2,6 +2,7 @@ package com.base.model.request;
 
 import com.base.model.Filter;
 import com.base.model.enumeration.Scope;
+import com.base.shared.paging.CountPolicy;
 import lombok.Builder;
 import lombok.Singular;
 import lombok.Value;
@@ -9,6 +10,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Value
 @Builder
@@ -19,4 +22,17 @@ public class RequestSpec<T> {
     @Singular
     List<Filter> filters;
     Specification<T> specification;
+    @Builder.Default
+    CountPolicy countPolicy = CountPolicy.EXACT;
+
+    /**
+     * Normalized description of the filtering part (paging and sort excluded), order independent
+     */
+    public String fingerprint() {
+        String filterPart = filters.stream()
+                .map(f -> f.getField() + ":" + f.getOp() + ":" + String.join(",", f.getValues()))
+                .sorted()
+                .collect(Collectors.joining("&"));
+        return "scope=" + scope + "|q=" + Objects.toString(keyword, "") + "|" + filterPart;
+    }
 }
@@ -0,0 +1,57 @@
+package com.base.querydsl;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Filter operators accepted in {@link FilterRequest#getOperator()}, with their aliases
+ */
+enum FilterOperator {
+
+    EQ("eq", "="),
+    NE("ne", "!="),
+    GT("gt", ">"),
+    GTE("gte", ">="),
+    LT("lt", "<"),
+    LTE("lte", "<="),
+    CONTAINS("like", "contains"),
+    STARTS_WITH("starts_with"),
+    ENDS_WITH("ends_with"),
+    IN("in"),
+    NOT_IN("not_in"),
+    BETWEEN("between"),
+    IS_NULL("is_null"),
+    IS_NOT_NULL("is_not_null");
+
+    private static final Map<String, FilterOperator> BY_ALIAS = new HashMap<>();
+
+    static {
+        for (FilterOperator operator : values()) {
+            for (String alias : operator.aliases) {
+                BY_ALIAS.put(alias, operator);
+            }
+        }
+    }
+
+    private final String[] aliases;
+
+    FilterOperator(String... aliases) {
+        this.aliases = aliases;
+    }
+
+    /**
+     * @return the operator, or null when the alias is unknown
+     */
+    static FilterOperator fromAlias(String alias) {
+        return alias != null ? BY_ALIAS.get(alias.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    boolean isRange() {
+        return this == GT || this == GTE || this == LT || this == LTE || this == BETWEEN;
+    }
+
+    boolean isText() {
+        return this == CONTAINS || this == STARTS_WITH || this == ENDS_WITH;
+    }
+}
@@ -0,0 +1,136 @@
+package com.base.querydsl;
+
+import com.base.ddd.shared.exception.ValidationException;
+import com.base.shared.query.ValueConverters;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.ComparableExpression;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.core.types.dsl.SimpleExpression;
+import com.querydsl.core.types.dsl.StringPath;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Compiled filter for one (field, operator) shape
+ * Path, operator and value converter are resolved once; applying only converts the values
+ */
+final class FilterPlan {
+
+    private final String field;
+    private final FilterOperator operator;
+    private final Function<Object, Object> converter;
+    private final SimpleExpression<Object> path;
+    private final ComparableExpression<Comparable<Object>> comparablePath;
+    private final StringPath stringPath;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private FilterPlan(String field, FilterOperator operator, Class<?> type, PathBuilder<?> entityPath) {
+        this.field = field;
+        this.operator = operator;
+        this.converter = ValueConverters.forType(type);
+        if (type.equals(String.class)) {
+            this.stringPath = entityPath.getString(field);
+            this.comparablePath = (ComparableExpression) stringPath;
+            this.path = (SimpleExpression) stringPath;
+        } else if (Comparable.class.isAssignableFrom(type)) {
+            this.stringPath = null;
+            this.comparablePath = (ComparableExpression) entityPath.getComparable(field, (Class) type);
+            this.path = (SimpleExpression) comparablePath;
+        } else {
+            this.stringPath = null;
+            this.comparablePath = null;
+            this.path = (SimpleExpression) entityPath.getSimple(field, type);
+        }
+    }
+
+    /**
+     * Validate a filter shape for an already resolved operator
+     *
+     * @param type Java type of the attribute, null when the entity has no such attribute
+     */
+    static FilterPlan compile(String field, FilterOperator operator, Class<?> type, PathBuilder<?> entityPath) {
+        if (type == null) {
+            throw new ValidationException("Unknown filter field: " + field);
+        }
+
+        FilterPlan plan = new FilterPlan(field, operator, type, entityPath);
+        if (operator.isRange() && plan.comparablePath == null) {
+            throw new ValidationException("Field " + field + " does not support operator " + operator.name().toLowerCase(Locale.ROOT));
+        }
+        if (operator.isText() && plan.stringPath == null) {
+            throw new ValidationException("Field " + field + " is not a text field");
+        }
+        return plan;
+    }
+
+    Predicate apply(Object value, Object secondValue) {
+        try {
+            return switch (operator) {
+                case EQ -> path.eq(required(value));
+                case NE -> path.ne(required(value));
+                case GT -> comparablePath.gt(comparable(value));
+                case GTE -> comparablePath.goe(comparable(value));
+                case LT -> comparablePath.lt(comparable(value));
+                case LTE -> comparablePath.loe(comparable(value));
+                case CONTAINS -> stringPath.containsIgnoreCase(required(value).toString());
+                case STARTS_WITH -> stringPath.startsWithIgnoreCase(required(value).toString());
+                case ENDS_WITH -> stringPath.endsWithIgnoreCase(required(value).toString());
+                case IN -> path.in(values(value));
+                case NOT_IN -> path.notIn(values(value));
+                case BETWEEN -> between(value, secondValue);
+                case IS_NULL -> path.isNull();
+                case IS_NOT_NULL -> path.isNotNull();
+            };
+        } catch (ValidationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid value for filter field " + field);
+        }
+    }
+
+    private Predicate between(Object from, Object to) {
+        Comparable<Object> lower = from != null ? comparable(from) : null;
+        Comparable<Object> upper = to != null ? comparable(to) : null;
+        if (lower != null && upper != null) {
+            return comparablePath.between(lower, upper);
+        }
+        if (lower != null) {
+            return comparablePath.goe(lower);
+        }
+        if (upper != null) {
+            return comparablePath.loe(upper);
+        }
+        throw new ValidationException("Filter field " + field + " requires a value");
+    }
+
+    private Object required(Object value) {
+        Object converted = converter.apply(value);
+        if (converted == null) {
+            throw new ValidationException("Filter field " + field + " requires a value");
+        }
+        return converted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> comparable(Object value) {
+        return (Comparable<Object>) required(value);
+    }
+
+    private List<Object> values(Object value) {
+        if (!(value instanceof Collection<?> raw)) {
+            return List.of(required(value));
+        }
+        List<Object> converted = new ArrayList<>(raw.size());
+        for (Object item : raw) {
+            converted.add(required(item));
+        }
+        if (converted.isEmpty()) {
+            throw new ValidationException("Filter field " + field + " requires a value");
+        }
+        return converted;
+    }
+}
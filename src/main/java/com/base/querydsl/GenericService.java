@@ -1,16 +1,23 @@
 package com.base.querydsl;
 
+import com.base.shared.paging.PageTotal;
+import com.base.shared.paging.PageTotalResolver;
+import com.base.shared.paging.PredicateFingerprint;
+import com.base.shared.query.QueryShape;
+import com.base.shared.query.QueryShapeRecorder;
 import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -20,6 +27,19 @@ public abstract class GenericService<E extends AbstractBaseEntity, CREATE_REQ, U
     protected final GenericMapper<E, CREATE_REQ, UPDATE_REQ, RES> mapper;
     protected final DynamicQueryBuilder<E> queryBuilder;
 
+    protected PageTotalResolver pageTotalResolver;
+    protected QueryShapeRecorder queryShapeRecorder;
+
+    @Autowired
+    public void setPageTotalResolver(PageTotalResolver pageTotalResolver) {
+        this.pageTotalResolver = pageTotalResolver;
+    }
+
+    @Autowired
+    public void setQueryShapeRecorder(QueryShapeRecorder queryShapeRecorder) {
+        this.queryShapeRecorder = queryShapeRecorder;
+    }
+
     @Transactional
     public RES create(CREATE_REQ request) {
         log.info("Creating new entity");
@@ -76,22 +96,38 @@ public abstract class GenericService<E extends AbstractBaseEntity, CREATE_REQ, U
 
     @Transactional(readOnly = true)
     public PageResponse<RES> search(SearchRequest searchRequest) {
-        log.info("Searching entities with request: {}", searchRequest);
+        log.debug("Searching entities with request: {}", searchRequest);
 
         Predicate predicate = queryBuilder.buildPredicate(searchRequest);
         Pageable pageable = buildPageable(searchRequest);
 
-        Page<E> entityPage = repository.findAll(predicate, pageable);
-        List<RES> responses = mapper.toResponseList(entityPage.getContent());
+        return queryShapeRecorder.record(queryShape(searchRequest, pageable),
+                () -> fetchPage(searchRequest, predicate, pageable),
+                page -> page.getContent().size());
+    }
+
+    private PageResponse<RES> fetchPage(SearchRequest searchRequest, Predicate predicate, Pageable pageable) {
+        LongSupplier counter = pageTotalResolver.prefetch(searchRequest.getCountPolicy(), pageable.getOffset() == 0,
+                () -> PredicateFingerprint.of(countNamespace(), predicate),
+                () -> repository.count(predicate));
+
+        // Fetch the page without Spring Data's implicit COUNT, the policy decides about the total
+        Slice<E> slice = repository.findBy(predicate, query -> query.slice(pageable));
+        List<RES> responses = mapper.toResponseList(slice.getContent());
+
+        PageTotal total = pageTotalResolver.resolve(searchRequest.getCountPolicy(), pageable.getOffset(),
+                slice.getNumberOfElements(), slice.hasNext(),
+                () -> PredicateFingerprint.of(countNamespace(), predicate), counter);
 
         return PageResponse.<RES>builder()
                 .content(responses)
-                .page(entityPage.getNumber())
-                .size(entityPage.getSize())
-                .totalElements(entityPage.getTotalElements())
-                .totalPages(entityPage.getTotalPages())
-                .hasNext(entityPage.hasNext())
-                .hasPrevious(entityPage.hasPrevious())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .totalElements(total.total())
+                .totalPages(total.totalPages(slice.getSize()))
+                .totalKind(total.kind())
+                .hasNext(slice.hasNext())
+                .hasPrevious(slice.hasPrevious())
                 .build();
     }
 
@@ -125,6 +161,33 @@ public abstract class GenericService<E extends AbstractBaseEntity, CREATE_REQ, U
         return Sort.by(Sort.Direction.DESC, "id");
     }
 
+    /**
+     * Shape of the search (filtered fields, operators, sort) without values
+     */
+    private QueryShape queryShape(SearchRequest searchRequest, Pageable pageable) {
+        QueryShape.Builder shape = QueryShape.of(countNamespace() + ".search");
+        if (searchRequest.getFilters() != null) {
+            searchRequest.getFilters().forEach(filter ->
+                    shape.filter(String.valueOf(filter.getField()), ":" + filter.getOperator()));
+        }
+        pageable.getSort().forEach(order -> shape.sort(order.getProperty(), order.isDescending()));
+        if ("OR".equalsIgnoreCase(searchRequest.getLogic())) {
+            shape.option("or");
+        }
+        if (Boolean.TRUE.equals(searchRequest.getIncludeDeleted())) {
+            shape.option("includeDeleted");
+        }
+        shape.option("count:" + searchRequest.getCountPolicy().name().toLowerCase());
+        return shape.build();
+    }
+
+    /**
+     * Namespace of memoized totals, one per entity type
+     */
+    protected String countNamespace() {
+        return getClass().getSimpleName();
+    }
+
     // Hook methods for subclasses
     protected void beforeCreate(E entity, CREATE_REQ request) {}
     protected void afterCreate(E entity, CREATE_REQ request) {}
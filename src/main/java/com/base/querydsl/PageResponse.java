@@ -1,5 +1,6 @@
 package com.base.querydsl;
 
+import com.base.shared.paging.TotalKind;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,8 +16,9 @@ public class PageResponse<T> {
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
+    private TotalKind totalKind;
     private boolean hasNext;
     private boolean hasPrevious;
 }
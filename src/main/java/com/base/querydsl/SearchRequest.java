@@ -1,5 +1,6 @@
 package com.base.querydsl;
 
+import com.base.shared.paging.CountPolicy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,4 +34,7 @@ public class SearchRequest {
 
     @Builder.Default
     private Boolean includeDeleted = false;
+
+    @Builder.Default
+    private CountPolicy countPolicy = CountPolicy.EXACT;
 }
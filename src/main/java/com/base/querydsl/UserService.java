@@ -1,6 +1,7 @@
 package com.base.querydsl;
 
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -20,8 +21,9 @@ public class UserService extends GenericService<User, UserCreateRequest, UserUpd
     public UserService(UserRepository repository,
                        UserMapper mapper,
                        JPAQueryFactory queryFactory,
-                       PasswordEncoder passwordEncoder) {
-        super(repository, mapper, new DynamicQueryBuilder<>(User.class));
+                       PasswordEncoder passwordEncoder,
+                       EntityManager entityManager) {
+        super(repository, mapper, new DynamicQueryBuilder<>(User.class, entityManager.getMetamodel()));
         this.userRepository = repository;
         this.queryFactory = queryFactory;
         this.passwordEncoder = passwordEncoder;
@@ -3,14 +3,24 @@ package com.base.service.impl;
 import com.base.model.entity.BaseEntity3;
 import com.base.model.mapper.BaseMapper;
 import com.base.repository.BaseRepository2;
+import com.base.model.request.RequestSpec;
 import com.base.service.inter.BaseService;
+import com.base.shared.paging.CountedPage;
+import com.base.shared.paging.PageTotal;
+import com.base.shared.paging.PageTotalResolver;
+import com.base.shared.paging.PredicateFingerprint;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
 
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -20,6 +30,13 @@ public abstract class BaseServiceImpl<T extends BaseEntity3, RQ, RS>
 
     protected final BaseRepository2<T> repository;
     protected final BaseMapper<T, RQ, RS> mapper;
+    protected PageTotalResolver pageTotalResolver;
+
+
+    @Autowired
+    public void setPageTotalResolver(PageTotalResolver pageTotalResolver) {
+        this.pageTotalResolver = pageTotalResolver;
+    }
 
 
     @Transactional
@@ -45,6 +62,21 @@ public abstract class BaseServiceImpl<T extends BaseEntity3, RQ, RS>
     }
 
 
+    @Override
+    public Page<RS> getPage(RequestSpec<T> request) {
+        Pageable pageable = request.getPageable();
+        Specification<T> spec = request.getSpecification();
+        Supplier<String> fingerprint = () -> PredicateFingerprint.hash(getClass().getSimpleName(), request.fingerprint());
+        LongSupplier counter = pageTotalResolver.prefetch(request.getCountPolicy(), pageable.getOffset() == 0,
+                fingerprint, () -> repository.count(spec));
+        // Slice fetches size + 1 rows, COUNT only runs when the policy asks for it
+        Slice<T> slice = repository.findBy(spec, q -> q.slice(pageable));
+        PageTotal total = pageTotalResolver.resolve(request.getCountPolicy(), pageable.getOffset(),
+                slice.getNumberOfElements(), slice.hasNext(), fingerprint, counter);
+        return new CountedPage<>(slice.map(mapper::toResponse).getContent(), pageable, total, slice.hasNext());
+    }
+
+
     @Transactional
     @Override
     public RS update(Long id, RQ request) {
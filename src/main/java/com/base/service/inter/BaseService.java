@@ -1,6 +1,7 @@
 package com.base.service.inter;
 
 import com.base.model.entity.BaseEntity3;
+import com.base.model.request.RequestSpec;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -11,6 +12,7 @@ public interface BaseService<T extends BaseEntity3, RQ, RS> {
     RS create(RQ request);
     Optional<RS> getById(Long id);
     Page<RS> getPage(Pageable pageable, Specification<T> spec);
+    Page<RS> getPage(RequestSpec<T> request);
     RS update(Long id, RQ request);
     void softDelete(Long id);
     void restore(Long id);
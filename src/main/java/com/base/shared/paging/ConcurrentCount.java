@@ -0,0 +1,60 @@
+package com.base.shared.paging;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * COUNT running on the count executor while the caller fetches the page
+ * Joining waits at most the configured timeout, after that the total is reported as unknown
+ */
+final class ConcurrentCount implements LongSupplier {
+
+    private final Future<Long> future;
+    private final long timeoutNanos;
+
+    ConcurrentCount(Future<Long> future, long timeoutNanos) {
+        this.future = future;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * @throws CountUnavailableException when the count did not finish in time
+     */
+    @Override
+    public long getAsLong() {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            cancel();
+            throw new CountUnavailableException("Count timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new CountUnavailableException("Interrupted while waiting for the count", e);
+        } catch (CancellationException e) {
+            throw new CountUnavailableException("Count cancelled", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Count failed", e.getCause());
+        }
+    }
+
+    /**
+     * The page already told the total (or it is not needed), stop counting
+     */
+    void cancel() {
+        future.cancel(true);
+    }
+
+    static final class CountUnavailableException extends RuntimeException {
+        CountUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.base.shared.paging;
+
+/**
+ * Where the COUNT of a paged query runs when an exact total is needed
+ */
+public enum CountExecution {
+
+    /**
+     * After the page query, on the same connection
+     */
+    SEQUENTIAL,
+
+    /**
+     * On the count executor with its own read-only connection, overlapping the page query
+     */
+    CONCURRENT
+}
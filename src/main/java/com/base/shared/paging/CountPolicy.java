@@ -0,0 +1,48 @@
+package com.base.shared.paging;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.Locale;
+
+/**
+ * How the total row count of a paged query is obtained
+ */
+public enum CountPolicy {
+
+    /**
+     * Run COUNT(*) for every page
+     */
+    EXACT,
+
+    /**
+     * Never count; fetch size + 1 rows to know whether there is a next page
+     */
+    NONE,
+
+    /**
+     * Count on the first page only, later pages report an unknown total
+     */
+    FIRST_PAGE_ONLY,
+
+    /**
+     * Memoize totals per normalized predicate for a short TTL
+     */
+    CACHED;
+
+    /**
+     * Lenient parsing: accepts "exact", "firstPageOnly", "first_page_only", "first-page-only"...
+     */
+    @JsonCreator
+    public static CountPolicy from(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        String normalized = value.replace("_", "").replace("-", "").toUpperCase(Locale.ROOT);
+        for (CountPolicy policy : values()) {
+            if (policy.name().replace("_", "").equals(normalized)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown count policy: " + value);
+    }
+}
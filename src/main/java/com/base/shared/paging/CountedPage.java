@@ -0,0 +1,38 @@
+package com.base.shared.paging;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Spring Data page that also reports which kind of total it carries.
+ * When the total is unknown, totalElements is the lower bound Spring derives from the content.
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final TotalKind totalKind;
+    private final boolean hasNextPage;
+
+    public CountedPage(List<T> content, Pageable pageable, PageTotal total, boolean hasNext) {
+        super(content, pageable, total.isKnown()
+                ? total.total()
+                : pageable.getOffset() + content.size() + (hasNext ? 1 : 0));
+        this.totalKind = total.kind();
+        this.hasNextPage = hasNext;
+    }
+
+    public TotalKind getTotalKind() {
+        return totalKind;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNextPage;
+    }
+
+    @Override
+    public boolean isLast() {
+        return !hasNextPage;
+    }
+}
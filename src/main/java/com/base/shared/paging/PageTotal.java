@@ -0,0 +1,38 @@
+package com.base.shared.paging;
+
+/**
+ * Total row count of a paged query together with its {@link TotalKind}
+ *
+ * @param total total rows, null when unknown
+ * @param kind  how the total was obtained
+ */
+public record PageTotal(Long total, TotalKind kind) {
+
+    private static final PageTotal UNKNOWN = new PageTotal(null, TotalKind.UNKNOWN);
+
+    public static PageTotal exact(long total) {
+        return new PageTotal(total, TotalKind.EXACT);
+    }
+
+    public static PageTotal cached(long total) {
+        return new PageTotal(total, TotalKind.CACHED);
+    }
+
+    public static PageTotal unknown() {
+        return UNKNOWN;
+    }
+
+    public boolean isKnown() {
+        return total != null;
+    }
+
+    /**
+     * Total pages for the given page size, null when the total is unknown
+     */
+    public Integer totalPages(int size) {
+        if (total == null) {
+            return null;
+        }
+        return size > 0 ? (int) Math.ceil((double) total / size) : 0;
+    }
+}
@@ -0,0 +1,141 @@
+package com.base.shared.paging;
+
+import com.base.configuration.property.PagingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Applies a {@link CountPolicy} to a paged query
+ * Shared by the DDD query services, the QueryDSL GenericService and the Specification BaseServiceImpl
+ */
+@Slf4j
+@Component
+public class PageTotalResolver {
+
+    private final PagingProperties properties;
+    private final AsyncTaskExecutor countExecutor;
+    private final TransactionTemplate countTransaction;
+    private final Map<String, CachedTotal> totals = new ConcurrentHashMap<>();
+
+    public PageTotalResolver(PagingProperties properties,
+                             @Qualifier("countExecutor") AsyncTaskExecutor countExecutor,
+                             PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.countExecutor = countExecutor;
+
+        // Own read-only connection; the timeout also becomes the JDBC query timeout of the COUNT
+        this.countTransaction = new TransactionTemplate(transactionManager);
+        this.countTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.countTransaction.setReadOnly(true);
+        this.countTransaction.setTimeout((int) Math.max(1, properties.getConcurrentCountTimeout().toSeconds() + 1));
+    }
+
+    /**
+     * Call before fetching the page: with concurrent count execution, a COUNT the policy will need
+     * is started on the count executor so it overlaps the page query.
+     * Pass the returned counter to {@link #resolve}; otherwise it is the given counter unchanged.
+     * A saturated count executor rejects the COUNT and the total is reported as unknown:
+     * running it on the request thread would hold a second connection before the page query.
+     */
+    public LongSupplier prefetch(CountPolicy policy, boolean firstPage,
+                                 Supplier<String> fingerprint, LongSupplier counter) {
+        if (properties.getCountExecution() != CountExecution.CONCURRENT || !needsCount(policy, firstPage, fingerprint)) {
+            return counter;
+        }
+        try {
+            return new ConcurrentCount(
+                    countExecutor.submit(() -> countTransaction.execute(status -> counter.getAsLong())),
+                    properties.getConcurrentCountTimeout().toNanos());
+        } catch (RejectedExecutionException e) {
+            return () -> {
+                throw new ConcurrentCount.CountUnavailableException("Count executor saturated", e);
+            };
+        }
+    }
+
+    /**
+     * Resolve the total after the page was fetched with one look-ahead row.
+     * A page that ends the result already tells the exact total, so no COUNT is needed then.
+     */
+    public PageTotal resolve(CountPolicy policy, long offset, int contentSize, boolean hasNext,
+                             Supplier<String> fingerprint, LongSupplier counter) {
+        if (!hasNext && (contentSize > 0 || offset == 0)) {
+            if (counter instanceof ConcurrentCount concurrent) {
+                concurrent.cancel();
+            }
+            return PageTotal.exact(offset + contentSize);
+        }
+        return resolve(policy, offset == 0, fingerprint, counter);
+    }
+
+    public PageTotal resolve(CountPolicy policy, boolean firstPage,
+                             Supplier<String> fingerprint, LongSupplier counter) {
+        try {
+            return switch (policy != null ? policy : CountPolicy.EXACT) {
+                case EXACT -> PageTotal.exact(counter.getAsLong());
+                case NONE -> PageTotal.unknown();
+                case FIRST_PAGE_ONLY -> firstPage ? PageTotal.exact(counter.getAsLong()) : PageTotal.unknown();
+                case CACHED -> cachedTotal(fingerprint.get(), counter);
+            };
+        } catch (ConcurrentCount.CountUnavailableException e) {
+            // Do not hold the page back for the total
+            log.debug("Total reported as unknown: {}", e.getMessage());
+            return PageTotal.unknown();
+        }
+    }
+
+    /**
+     * Drop memoized totals, e.g. after bulk writes
+     */
+    public void evictAll() {
+        totals.clear();
+    }
+
+    private boolean needsCount(CountPolicy policy, boolean firstPage, Supplier<String> fingerprint) {
+        return switch (policy != null ? policy : CountPolicy.EXACT) {
+            case EXACT -> true;
+            case NONE -> false;
+            case FIRST_PAGE_ONLY -> firstPage;
+            case CACHED -> {
+                CachedTotal cached = totals.get(fingerprint.get());
+                yield cached == null || cached.expiresAt() - System.nanoTime() <= 0;
+            }
+        };
+    }
+
+    private PageTotal cachedTotal(String key, LongSupplier counter) {
+        long now = System.nanoTime();
+        CachedTotal cached = totals.get(key);
+        if (cached != null && cached.expiresAt() - now > 0) {
+            return PageTotal.cached(cached.total());
+        }
+
+        long total = counter.getAsLong();
+        if (totals.size() >= properties.getCountCacheMaxEntries()) {
+            evictExpired(now);
+        }
+        if (totals.size() < properties.getCountCacheMaxEntries()) {
+            totals.put(key, new CachedTotal(total, now + properties.getCountCacheTtl().toNanos()));
+        }
+        return PageTotal.exact(total);
+    }
+
+    private void evictExpired(long now) {
+        totals.values().removeIf(cached -> cached.expiresAt() - now <= 0);
+        log.debug("Count cache evicted expired entries, {} remaining", totals.size());
+    }
+
+    private record CachedTotal(long total, long expiresAt) {
+    }
+}
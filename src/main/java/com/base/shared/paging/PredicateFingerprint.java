@@ -0,0 +1,63 @@
+package com.base.shared.paging;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Predicate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Stable key for a query predicate, used to memoize totals
+ * AND / OR operands are flattened and sorted so that "a and b" and "b and a" share a key
+ */
+public final class PredicateFingerprint {
+
+    private PredicateFingerprint() {}
+
+    public static String of(String namespace, Predicate predicate) {
+        Expression<?> expression = predicate != null ? ExpressionUtils.extract(predicate) : null;
+        return hash(namespace, expression != null ? normalize(expression) : "");
+    }
+
+    /**
+     * Hash an already normalized description (e.g. built from request parameters)
+     */
+    public static String hash(String namespace, String normalized) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return namespace + ":" + HexFormat.of().formatHex(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String normalize(Expression<?> expression) {
+        if (expression instanceof Operation<?> operation
+                && (operation.getOperator() == Ops.AND || operation.getOperator() == Ops.OR)) {
+            List<String> operands = new ArrayList<>();
+            flatten(operation, operation.getOperator(), operands);
+            operands.sort(null);
+            return "(" + String.join(operation.getOperator() == Ops.AND ? " && " : " || ", operands) + ")";
+        }
+        return String.valueOf(expression);
+    }
+
+    private static void flatten(Expression<?> expression, Operator operator, List<String> operands) {
+        if (expression instanceof Operation<?> operation && operation.getOperator() == operator) {
+            for (Expression<?> arg : operation.getArgs()) {
+                flatten(arg, operator, operands);
+            }
+        } else {
+            operands.add(normalize(expression));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.base.shared.paging;
+
+/**
+ * What kind of total came back with a page
+ */
+public enum TotalKind {
+
+    /**
+     * Counted (or derived from the last page) for this request
+     */
+    EXACT,
+
+    /**
+     * Served from the count cache, may be up to one TTL old
+     */
+    CACHED,
+
+    /**
+     * Not counted; rely on hasNext
+     */
+    UNKNOWN
+}
@@ -0,0 +1,81 @@
+package com.base.shared.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Normalized shape of a dynamic query: filtered fields with their operators, sort keys and options,
+ * without any values. Queries that differ only in their values share a shape (and an index plan).
+ */
+public final class QueryShape {
+
+    private final String query;
+    private final String signature;
+
+    private QueryShape(String query, String signature) {
+        this.query = query;
+        this.signature = signature;
+    }
+
+    /**
+     * @param query logical query name, e.g. "users.search"
+     */
+    public static Builder of(String query) {
+        return new Builder(query);
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * e.g. "where[age>=,status=] order[createdAt desc,id desc] keyset"
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    @Override
+    public String toString() {
+        return query + " " + signature;
+    }
+
+    public static final class Builder {
+        private final String query;
+        // Sorted, so the order in which filters were sent does not matter
+        private final TreeSet<String> filters = new TreeSet<>();
+        private final List<String> sorts = new ArrayList<>();
+        private final TreeSet<String> options = new TreeSet<>();
+
+        private Builder(String query) {
+            this.query = query;
+        }
+
+        public Builder filter(String field, String operator) {
+            filters.add(field + operator.toLowerCase(Locale.ROOT));
+            return this;
+        }
+
+        public Builder sort(String field, boolean descending) {
+            sorts.add(field + (descending ? " desc" : " asc"));
+            return this;
+        }
+
+        public Builder option(String option) {
+            options.add(option);
+            return this;
+        }
+
+        public QueryShape build() {
+            StringBuilder signature = new StringBuilder()
+                    .append("where[").append(String.join(",", filters)).append(']')
+                    .append(" order[").append(String.join(",", sorts)).append(']');
+            for (String option : options) {
+                signature.append(' ').append(option);
+            }
+            return new QueryShape(query, signature.toString());
+        }
+    }
+}
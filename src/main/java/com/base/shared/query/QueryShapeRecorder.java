@@ -0,0 +1,172 @@
+package com.base.shared.query;
+
+import com.base.configuration.property.QueryShapeProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Times dynamic queries per {@link QueryShape}
+ * Publishes Micrometer timers / row distributions and keeps a bounded table of the slowest shapes
+ */
+@Slf4j
+@Component
+public class QueryShapeRecorder {
+
+    private static final String OTHER_SHAPE = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final QueryShapeProperties properties;
+
+    // Shapes allowed as a meter tag, bounded to keep the cardinality under control
+    private final Set<String> meteredShapes = ConcurrentHashMap.newKeySet();
+    private final Map<String, ShapeStats> stats = new ConcurrentHashMap<>();
+
+    public QueryShapeRecorder(MeterRegistry meterRegistry, QueryShapeProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * Run the query and record its duration and row count under the given shape
+     */
+    public <T> T record(QueryShape shape, Supplier<T> query, ToIntFunction<T> rowCounter) {
+        if (!properties.isEnabled()) {
+            return query.get();
+        }
+
+        long start = System.nanoTime();
+        T result = query.get();
+        long elapsed = System.nanoTime() - start;
+        int rows = rowCounter.applyAsInt(result);
+
+        String tag = meterTag(shape);
+        Timer.builder("app.query.shape.duration")
+                .description("Dynamic query duration per query shape")
+                .tag("query", shape.getQuery())
+                .tag("shape", tag)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("app.query.shape.rows")
+                .description("Rows returned per query shape")
+                .baseUnit("rows")
+                .tag("query", shape.getQuery())
+                .tag("shape", tag)
+                .register(meterRegistry)
+                .record(rows);
+
+        track(shape, elapsed, rows);
+
+        if (elapsed > properties.getSlowThreshold().toNanos()) {
+            log.warn("Slow query shape: {} took {} ms, {} rows",
+                    shape, TimeUnit.NANOSECONDS.toMillis(elapsed), rows);
+        }
+        return result;
+    }
+
+    /**
+     * Slowest shapes first (by max duration)
+     */
+    public List<ShapeView> slowest() {
+        return stats.values().stream()
+                .sorted(Comparator.comparingLong((ShapeStats s) -> s.maxNanos.get()).reversed())
+                .limit(properties.getTopN())
+                .map(ShapeStats::view)
+                .toList();
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private String meterTag(QueryShape shape) {
+        String signature = shape.getSignature();
+        if (meteredShapes.contains(signature)) {
+            return signature;
+        }
+        if (meteredShapes.size() < properties.getMaxMeteredShapes() && meteredShapes.add(signature)) {
+            return signature;
+        }
+        return meteredShapes.contains(signature) ? signature : OTHER_SHAPE;
+    }
+
+    private void track(QueryShape shape, long elapsed, int rows) {
+        String key = shape.toString();
+        ShapeStats entry = stats.get(key);
+        if (entry == null) {
+            entry = admit(key, shape, elapsed);
+            if (entry == null) {
+                return;
+            }
+        }
+        entry.record(elapsed, rows);
+    }
+
+    /**
+     * When the table is full a new shape only gets in by displacing a faster one
+     */
+    private synchronized ShapeStats admit(String key, QueryShape shape, long elapsed) {
+        ShapeStats existing = stats.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (stats.size() >= properties.getMaxTrackedShapes()) {
+            ShapeStats fastest = stats.values().stream()
+                    .min(Comparator.comparingLong(s -> s.maxNanos.get()))
+                    .orElse(null);
+            if (fastest == null || fastest.maxNanos.get() >= elapsed) {
+                return null;
+            }
+            stats.remove(fastest.shape.toString());
+        }
+        ShapeStats created = new ShapeStats(shape);
+        stats.put(key, created);
+        return created;
+    }
+
+    private static final class ShapeStats {
+        private final QueryShape shape;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private volatile int lastRows;
+        private volatile Instant lastSeen;
+
+        private ShapeStats(QueryShape shape) {
+            this.shape = shape;
+        }
+
+        void record(long elapsed, int rows) {
+            count.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+            lastRows = rows;
+            lastSeen = Instant.now();
+        }
+
+        ShapeView view() {
+            long calls = count.sum();
+            return new ShapeView(shape.getQuery(), shape.getSignature(), calls,
+                    calls > 0 ? totalNanos.sum() / 1e6 / calls : 0,
+                    maxNanos.get() / 1e6, lastRows, lastSeen);
+        }
+    }
+
+    public record ShapeView(String query, String shape, long count, double meanMs, double maxMs,
+                            int lastRows, Instant lastSeen) {
+    }
+}
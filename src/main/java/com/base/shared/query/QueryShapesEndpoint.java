@@ -0,0 +1,30 @@
+package com.base.shared.query;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /actuator/queryshapes: slowest dynamic query shapes since startup (or the last reset)
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "queryshapes")
+public class QueryShapesEndpoint {
+
+    private final QueryShapeRecorder recorder;
+
+    @ReadOperation
+    public List<QueryShapeRecorder.ShapeView> slowest() {
+        return recorder.slowest();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+    }
+}
@@ -0,0 +1,77 @@
+package com.base.shared.query;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Converters from raw filter values (request strings or JSON scalars) to an attribute's Java type
+ * Resolved once per type, so compiled filter plans only pay for the conversion itself
+ */
+public final class ValueConverters {
+
+    private static final Map<Class<?>, Function<Object, Object>> CONVERTERS = new ConcurrentHashMap<>();
+
+    private ValueConverters() {}
+
+    /**
+     * Converter for the given type; null stays null, unparsable values throw a RuntimeException
+     */
+    public static Function<Object, Object> forType(Class<?> type) {
+        return CONVERTERS.computeIfAbsent(wrap(type), ValueConverters::create);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<Object, Object> create(Class<?> type) {
+        Function<Object, Object> converter;
+        if (type.equals(String.class)) {
+            converter = Object::toString;
+        } else if (type.equals(Long.class)) {
+            converter = raw -> raw instanceof Number n ? n.longValue() : Long.valueOf(text(raw));
+        } else if (type.equals(Integer.class)) {
+            converter = raw -> raw instanceof Number n ? n.intValue() : Integer.valueOf(text(raw));
+        } else if (type.equals(Short.class)) {
+            converter = raw -> raw instanceof Number n ? n.shortValue() : Short.valueOf(text(raw));
+        } else if (type.equals(Double.class)) {
+            converter = raw -> raw instanceof Number n ? n.doubleValue() : Double.valueOf(text(raw));
+        } else if (type.equals(Float.class)) {
+            converter = raw -> raw instanceof Number n ? n.floatValue() : Float.valueOf(text(raw));
+        } else if (type.equals(BigDecimal.class)) {
+            converter = raw -> raw instanceof BigDecimal d ? d : new BigDecimal(text(raw));
+        } else if (type.equals(Boolean.class)) {
+            converter = raw -> raw instanceof Boolean b ? b : Boolean.valueOf(text(raw));
+        } else if (type.equals(Instant.class)) {
+            converter = raw -> raw instanceof Instant i ? i : Instant.parse(text(raw));
+        } else if (type.equals(LocalDate.class)) {
+            converter = raw -> raw instanceof LocalDate d ? d : LocalDate.parse(text(raw));
+        } else if (type.equals(LocalDateTime.class)) {
+            converter = raw -> raw instanceof LocalDateTime d ? d : LocalDateTime.parse(text(raw));
+        } else if (type.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+            converter = raw -> type.isInstance(raw) ? raw : Enum.valueOf(enumType, text(raw).toUpperCase(Locale.ROOT));
+        } else {
+            converter = Function.identity();
+        }
+        return raw -> raw == null ? null : converter.apply(raw);
+    }
+
+    private static String text(Object raw) {
+        return raw.toString().trim();
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        if (type == long.class) return Long.class;
+        if (type == int.class) return Integer.class;
+        if (type == short.class) return Short.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == boolean.class) return Boolean.class;
+        return type;
+    }
+}
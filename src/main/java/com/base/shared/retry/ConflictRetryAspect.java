@@ -0,0 +1,76 @@
+package com.base.shared.retry;
+
+import com.base.configuration.property.RetryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries @RetryOnConflict methods on version conflicts
+ * Ordered just outside the transaction interceptor, so every attempt runs in a fresh transaction
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class ConflictRetryAspect {
+
+    private final RetryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(com.base.shared.retry.RetryOnConflict) || @within(com.base.shared.retry.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Joined an outer transaction: only its owner can re-run it
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        RetryOnConflict retry = AnnotatedElementUtils.findMergedAnnotation(signature.getMethod(), RetryOnConflict.class);
+        if (retry == null) {
+            retry = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), RetryOnConflict.class);
+        }
+        String useCase = retry != null && !retry.value().isEmpty()
+                ? retry.value()
+                : joinPoint.getTarget().getClass().getSimpleName();
+        int maxAttempts = retry != null && retry.maxAttempts() > 0 ? retry.maxAttempts() : properties.getMaxAttempts();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("app.usecase.conflicts", "usecase", useCase).increment();
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("app.usecase.conflict_failures", "usecase", useCase).increment();
+                    log.warn("{} still conflicting after {} attempts", useCase, attempt);
+                    throw e;
+                }
+
+                long backoff = backoffMillis(attempt);
+                log.debug("{} hit a version conflict (attempt {}), retrying in {} ms", useCase, attempt, backoff);
+                meterRegistry.counter("app.usecase.retries", "usecase", useCase).increment();
+                Thread.sleep(backoff);
+            }
+        }
+    }
+
+    // Full jitter: uniform in [0, min(max, initial * 2^(attempt - 1))]
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(properties.getMaxBackoff().toMillis(),
+                properties.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,29 @@
+package com.base.shared.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-run the annotated @Transactional method in a new transaction when it fails on an optimistic
+ * lock (version) conflict, with jittered exponential backoff
+ * Only the outermost call retries: inside an existing transaction the conflict is rethrown as is.
+ * The method must be safe to re-run from the start (reload, re-apply, save).
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+
+    /**
+     * Name of the use case in the metrics, the class name when empty
+     */
+    String value() default "";
+
+    /**
+     * Attempts including the first one, app.retry.max-attempts when not positive
+     */
+    int maxAttempts() default 0;
+}
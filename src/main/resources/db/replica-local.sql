@@ -0,0 +1,2 @@
+-- replica-local profile: the embedded replica reads the primary's tables through linked tables
+CREATE LINKED TABLE IF NOT EXISTS users('org.h2.Driver', 'jdbc:h2:mem:primary', 'sa', '', 'public', 'users') READONLY;
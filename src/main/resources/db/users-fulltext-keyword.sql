@@ -0,0 +1,7 @@
+-- app.search.user.backend=fulltext: ngram FULLTEXT index used for keyword search (FullTextUserSearchIndex)
+-- Run as a schema migration. InnoDB builds a FULLTEXT index in place but blocks writes to the table
+-- meanwhile (LOCK = SHARED), so schedule it on large tables; the application only checks that the
+-- index exists and keeps scanning with LIKE until it does
+ALTER TABLE users
+    ADD FULLTEXT INDEX ft_users_keyword (username, email, full_name, phone_number) WITH PARSER ngram,
+    ALGORITHM = INPLACE, LOCK = SHARED;
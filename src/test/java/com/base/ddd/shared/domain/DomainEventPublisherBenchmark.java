@@ -0,0 +1,92 @@
+package com.base.ddd.shared.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DomainEventPublisher.publish from several threads at once, with a handful of subscribers
+ * for the published event and a growing number subscribed to other event types
+ * (which the publish cost should not depend on)
+ *
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main DomainEventPublisherBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class DomainEventPublisherBenchmark {
+
+    @Param({"0", "100", "1000"})
+    private int unrelatedSubscribers;
+
+    private final DomainEventPublisher publisher = DomainEventPublisher.instance();
+    private final LongAdder handled = new LongAdder();
+    private final DomainEvent created = new Created();
+    private final DomainEvent renamed = new Renamed();
+
+    @Setup
+    public void setUp() {
+        publisher.clearSubscribers();
+
+        // Matching: one global, one on the base type, one per concrete type
+        publisher.subscribe(event -> handled.increment());
+        publisher.subscribe(UserEvent.class, event -> handled.increment());
+        publisher.subscribe(Created.class, event -> handled.increment());
+        publisher.subscribe(Renamed.class, event -> handled.increment());
+
+        for (int i = 0; i < unrelatedSubscribers; i++) {
+            publisher.subscribe(Unrelated.class, event -> handled.increment());
+        }
+    }
+
+    @Benchmark
+    public void publishCreated() {
+        publisher.publish(created);
+    }
+
+    @Benchmark
+    public void publishRenamed() {
+        publisher.publish(renamed);
+    }
+
+    abstract static class UserEvent extends DomainEvent {
+    }
+
+    static final class Created extends UserEvent {
+        @Override
+        public String getEventType() {
+            return "Created";
+        }
+    }
+
+    static final class Renamed extends UserEvent {
+        @Override
+        public String getEventType() {
+            return "Renamed";
+        }
+    }
+
+    static final class Unrelated extends DomainEvent {
+        @Override
+        public String getEventType() {
+            return "Unrelated";
+        }
+    }
+}
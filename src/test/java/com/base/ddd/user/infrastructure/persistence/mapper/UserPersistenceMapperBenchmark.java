@@ -0,0 +1,113 @@
+package com.base.ddd.user.infrastructure.persistence.mapper;
+
+import com.base.ddd.user.domain.model.Email;
+import com.base.ddd.user.domain.model.Password;
+import com.base.ddd.user.domain.model.User;
+import com.base.ddd.user.domain.model.UserId;
+import com.base.ddd.user.domain.model.UserStatus;
+import com.base.ddd.user.domain.model.Username;
+import com.base.ddd.user.infrastructure.persistence.entity.UserJpaEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserPersistenceMapper.toDomainModel / toDomainModels with the trusted value object factories,
+ * against the validating ones (Username.of, Email.of, UserId.of) used before
+ *
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main UserPersistenceMapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserPersistenceMapperBenchmark {
+
+    @Param("10000")
+    private int rows;
+
+    private final UserPersistenceMapper mapper = new UserPersistenceMapper();
+    private List<UserJpaEntity> entities;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        entities = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            UserJpaEntity entity = new UserJpaEntity();
+            entity.setId((long) i);
+            entity.setUsername("user_" + i);
+            entity.setEmail("user." + i + "@example.com");
+            entity.setPasswordHash("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3mZ0dY1bq8cZ0VNdF3lZ3cS");
+            entity.setFullName("User " + i);
+            entity.setPhoneNumber("09" + (10_000_000 + i));
+            entity.setStatus(UserStatus.ACTIVE.name());
+            entity.setAge(20 + i % 50);
+            entity.setAddress("Street " + i);
+            entity.setDeleted(false);
+            entity.setCreatedAt(now);
+            entity.setCreatedBy("system");
+            entity.setUpdatedAt(now);
+            entity.setVersion(0L);
+            entities.add(entity);
+        }
+    }
+
+    @Benchmark
+    public void toDomainModel(Blackhole blackhole) {
+        for (UserJpaEntity entity : entities) {
+            blackhole.consume(mapper.toDomainModel(entity));
+        }
+    }
+
+    @Benchmark
+    public List<User> toDomainModels() {
+        return mapper.toDomainModels(entities);
+    }
+
+    @Benchmark
+    public void toDomainModelValidating(Blackhole blackhole) {
+        for (UserJpaEntity entity : entities) {
+            blackhole.consume(validating(entity));
+        }
+    }
+
+    // The mapping before the trusted path: every value object re-validated
+    private static User validating(UserJpaEntity entity) {
+        User user = User.reconstitute(
+                UserId.of(entity.getId()),
+                Username.of(entity.getUsername()),
+                Email.of(entity.getEmail()),
+                Password.fromHash(entity.getPasswordHash()),
+                entity.getFullName(),
+                entity.getPhoneNumber(),
+                UserStatus.valueOf(entity.getStatus()),
+                entity.getAge(),
+                entity.getAddress(),
+                entity.getAvatarUrl(),
+                entity.getDeleted() != null ? entity.getDeleted() : false
+        );
+        user.setCreatedAt(entity.getCreatedAt());
+        user.setCreatedBy(entity.getCreatedBy());
+        user.setUpdatedAt(entity.getUpdatedAt());
+        user.setVersion(entity.getVersion());
+        return user;
+    }
+}
@@ -0,0 +1,86 @@
+package com.base.model;
+
+import com.base.model.entity.BaseEntity3;
+import com.base.model.enumeration.FilterOp;
+import com.base.model.enumeration.Scope;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QueryParsers.buildSpecification(...).toPredicate for the same five filter shapes as
+ * DynamicQueryBuilderBenchmark, on a fresh CriteriaQuery/Root per call as a repository would use it
+ *
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main QueryParsersBenchmark -prof gc
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(5)
+public class QueryParsersBenchmark {
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private CriteriaBuilder cb;
+    private Specification<Customer> specification;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Customer.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:benchmark")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+        cb = entityManager.getCriteriaBuilder();
+
+        specification = QueryParsers.buildSpecification(null, null, List.of(
+                new Filter("fullName", FilterOp.eq, List.of("Nguyen Van A")),
+                new Filter("email", FilterOp.like, List.of("@example.com")),
+                new Filter("age", FilterOp.between, List.of("18", "65")),
+                new Filter("createdAt", FilterOp.gte, List.of("2024-01-01T00:00:00Z")),
+                new Filter("username", FilterOp.in, List.of("alice", "bob", "carol"))), Scope.ACTIVE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate toPredicate() {
+        CriteriaQuery<Customer> query = cb.createQuery(Customer.class);
+        return specification.toPredicate(query.from(Customer.class), query, cb);
+    }
+
+    @Entity
+    public static class Customer extends BaseEntity3 {
+        private String username;
+        private String email;
+        private String fullName;
+        private Integer age;
+    }
+}
@@ -0,0 +1,70 @@
+package com.base.querydsl;
+
+import com.querydsl.core.types.Predicate;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DynamicQueryBuilder.buildPredicate for a typical search (five filters of different shapes),
+ * with the attribute metamodel taken from a Hibernate session factory over an in-memory H2 database
+ *
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main DynamicQueryBuilderBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(5)
+public class DynamicQueryBuilderBenchmark {
+
+    private SessionFactory sessionFactory;
+    private DynamicQueryBuilder<User> queryBuilder;
+    private SearchRequest request;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:benchmark")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+        queryBuilder = new DynamicQueryBuilder<>(User.class, sessionFactory.getMetamodel());
+
+        request = SearchRequest.builder()
+                .filters(List.of(
+                        new FilterRequest("fullName", "eq", "Nguyen Van A"),
+                        new FilterRequest("email", "like", "@example.com"),
+                        new FilterRequest("age", "between", 18, 65),
+                        new FilterRequest("createdAt", ">=", LocalDateTime.of(2024, 1, 1, 0, 0)),
+                        new FilterRequest("username", "in", List.of("alice", "bob", "carol"))))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate buildPredicate() {
+        return queryBuilder.buildPredicate(request);
+    }
+}